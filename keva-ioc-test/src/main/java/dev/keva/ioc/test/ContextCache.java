@@ -0,0 +1,99 @@
+package dev.keva.ioc.test;
+
+import dev.keva.ioc.KevaIoC;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Least recently used cache of initialized containers, shared by all test classes of a test run. Once the cache
+ * holds {@code maxSize} containers, adding one evicts the container that was used the longest time ago.
+ * Evicted and removed containers are closed, which destroys their beans. Kept in the root extension context store,
+ * the cache is closed when the test run ends, which closes the containers still cached.
+ */
+public class ContextCache implements ExtensionContext.Store.CloseableResource {
+    public static final String MAX_SIZE_PROPERTY = "keva.ioc.test.contextCache.maxSize";
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    private final int maxSize;
+    private final Map<ContextKey, KevaIoC> contexts;
+    private int hitCount;
+    private int missCount;
+
+    public ContextCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Context cache size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.contexts = new LinkedHashMap<ContextKey, KevaIoC>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ContextKey, KevaIoC> eldest) {
+                if (size() > ContextCache.this.maxSize) {
+                    eldest.getValue().close();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached container of the key, initializing it while holding the cache lock on a miss so that
+     * concurrent test classes never build the same container twice.
+     */
+    public synchronized KevaIoC get(ContextKey key, Supplier<KevaIoC> initializer) {
+        KevaIoC context = contexts.get(key);
+        if (context != null) {
+            hitCount++;
+            return context;
+        }
+        missCount++;
+        context = initializer.get();
+        contexts.put(key, context);
+        return context;
+    }
+
+    public synchronized boolean contains(ContextKey key) {
+        return contexts.containsKey(key);
+    }
+
+    public synchronized void remove(ContextKey key) {
+        KevaIoC context = contexts.remove(key);
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public synchronized void clear() {
+        List<KevaIoC> closing = new ArrayList<>(contexts.values());
+        contexts.clear();
+        for (KevaIoC context : closing) {
+            context.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+
+    public synchronized int size() {
+        return contexts.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized int getMissCount() {
+        return missCount;
+    }
+}
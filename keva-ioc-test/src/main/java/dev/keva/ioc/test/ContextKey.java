@@ -0,0 +1,68 @@
+package dev.keva.ioc.test;
+
+import dev.keva.ioc.annotation.ComponentScan;
+
+import java.util.*;
+
+/**
+ * Identifies a cached container by what determines its content: the scanned packages and the types of the
+ * predefined beans. Main classes with the same {@code @ComponentScan} share a container.
+ */
+public final class ContextKey {
+    private final Class<?> mainClass;
+    private final List<String> packages;
+    private final List<Class<?>> beanTypes;
+
+    private ContextKey(Class<?> mainClass, List<String> packages, List<Class<?>> beanTypes) {
+        this.mainClass = mainClass;
+        this.packages = packages;
+        this.beanTypes = beanTypes;
+    }
+
+    public static ContextKey of(Class<?> mainClass, Class<?>... beanTypes) {
+        ComponentScan scan = mainClass.getAnnotation(ComponentScan.class);
+        List<String> packages = new ArrayList<>(scan != null ? Arrays.asList(scan.value()) :
+                Collections.singletonList(mainClass.getPackage().getName()));
+        Collections.sort(packages);
+        List<Class<?>> types = new ArrayList<>(Arrays.asList(beanTypes));
+        types.sort(Comparator.comparing(Class::getName));
+        return new ContextKey(mainClass, Collections.unmodifiableList(packages), Collections.unmodifiableList(types));
+    }
+
+    /**
+     * Returns the main class of the test that first created the container.
+     */
+    public Class<?> getMainClass() {
+        return mainClass;
+    }
+
+    public List<String> getPackages() {
+        return packages;
+    }
+
+    public List<Class<?>> getBeanTypes() {
+        return beanTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ContextKey)) {
+            return false;
+        }
+        ContextKey other = (ContextKey) o;
+        return packages.equals(other.packages) && beanTypes.equals(other.beanTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * packages.hashCode() + beanTypes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey" + packages + (beanTypes.isEmpty() ? "" : " beans" + beanTypes);
+    }
+}
@@ -0,0 +1,17 @@
+package dev.keva.ioc.test;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Evicts the container of the test class from the cache once the annotated test method, or the whole annotated
+ * test class, has run. Use it when a test changes beans in a way other test classes must not see.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface DirtiesContext {
+}
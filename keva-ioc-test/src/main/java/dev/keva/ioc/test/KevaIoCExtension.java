@@ -0,0 +1,103 @@
+package dev.keva.ioc.test;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.Autowired;
+import org.junit.jupiter.api.extension.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JUnit 5 extension behind {@link KevaTest}. It injects {@code @Autowired} fields of the test instance and
+ * resolves {@code KevaIoC} test method parameters from a container taken from the {@link ContextCache} of the test
+ * run, stored in the root extension context so that the containers left in it are closed when the run ends.
+ * The cache holds {@value ContextCache#DEFAULT_MAX_SIZE} containers unless the
+ * {@value ContextCache#MAX_SIZE_PROPERTY} configuration parameter says otherwise.
+ */
+public class KevaIoCExtension implements TestInstancePostProcessor, ParameterResolver, AfterEachCallback,
+        AfterAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(KevaIoCExtension.class);
+
+    @Override
+    public void postProcessTestInstance(Object testInstance, ExtensionContext context) throws IllegalAccessException {
+        KevaIoC kevaIoC = getContext(context);
+        for (Class<?> clazz = testInstance.getClass(); clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    field.setAccessible(true);
+                    field.set(testInstance, getBean(kevaIoC, field.getType()));
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == KevaIoC.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return getContext(extensionContext);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Optional<Method> method = context.getTestMethod();
+        if (method.isPresent() && method.get().isAnnotationPresent(DirtiesContext.class)) {
+            getCache(context).remove(getKey(context));
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        if (context.getRequiredTestClass().isAnnotationPresent(DirtiesContext.class)) {
+            getCache(context).remove(getKey(context));
+        }
+    }
+
+    private static Object getBean(KevaIoC kevaIoC, Class<?> type) {
+        return type == KevaIoC.class ? kevaIoC : kevaIoC.getBean(type);
+    }
+
+    private static KevaIoC getContext(ExtensionContext context) {
+        ContextKey key = getKey(context);
+        return getCache(context).get(key, () -> {
+            List<Object> beans = new ArrayList<>(key.getBeanTypes().size());
+            for (Class<?> beanType : key.getBeanTypes()) {
+                beans.add(newBean(beanType));
+            }
+            return KevaIoC.initBeans(key.getMainClass(), beans.toArray());
+        });
+    }
+
+    private static ContextKey getKey(ExtensionContext context) {
+        Class<?> testClass = context.getRequiredTestClass();
+        KevaTest annotation = testClass.getAnnotation(KevaTest.class);
+        if (annotation == null) {
+            return ContextKey.of(testClass);
+        }
+        Class<?> mainClass = annotation.value() == void.class ? testClass : annotation.value();
+        return ContextKey.of(mainClass, annotation.beans());
+    }
+
+    private static ContextCache getCache(ExtensionContext context) {
+        int maxSize = context.getConfigurationParameter(ContextCache.MAX_SIZE_PROPERTY)
+                .map(Integer::parseInt)
+                .orElse(ContextCache.DEFAULT_MAX_SIZE);
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(ContextCache.class, k -> new ContextCache(maxSize), ContextCache.class);
+    }
+
+    private static Object newBean(Class<?> beanType) {
+        try {
+            return beanType.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ExtensionConfigurationException("Cannot create predefined bean " + beanType.getName(), e);
+        }
+    }
+}
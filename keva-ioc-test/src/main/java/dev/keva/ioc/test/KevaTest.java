@@ -0,0 +1,29 @@
+package dev.keva.ioc.test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the test class against a cached container. Test classes resolving to the same scanned packages and
+ * predefined bean types share one container, see {@link ContextCache}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+@ExtendWith(KevaIoCExtension.class)
+public @interface KevaTest {
+    /**
+     * The main class whose {@code @ComponentScan} packages, or package, are scanned. Defaults to the test class.
+     */
+    Class<?> value() default void.class;
+
+    /**
+     * Classes instantiated through their no-argument constructor and mounted as predefined beans.
+     */
+    Class<?>[] beans() default {};
+}
@@ -0,0 +1,62 @@
+package dev.keva.ioc.test;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.test.dirty.DirtiesContextTest;
+import dev.keva.ioc.test.shared.SharedContextAgainTest;
+import dev.keva.ioc.test.shared.SharedContextTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContextCacheTest {
+    @Test
+    void testKeyIgnoresMainClass() {
+        assertEquals(ContextKey.of(SharedContextTest.class), ContextKey.of(SharedContextAgainTest.class));
+        assertNotEquals(ContextKey.of(SharedContextTest.class), ContextKey.of(DirtiesContextTest.class));
+        assertNotEquals(ContextKey.of(SharedContextTest.class), ContextKey.of(SharedContextTest.class, String.class));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        ContextCache cache = new ContextCache(2);
+        ContextKey first = ContextKey.of(SharedContextTest.class);
+        ContextKey second = ContextKey.of(DirtiesContextTest.class);
+        ContextKey third = ContextKey.of(DirtiesContextTest.class, String.class);
+        AtomicInteger created = new AtomicInteger();
+
+        KevaIoC context = cache.get(first, () -> newContext(created));
+        KevaIoC evicted = cache.get(second, () -> newContext(created));
+        assertSame(context, cache.get(first, () -> newContext(created)));
+        cache.get(third, () -> newContext(created));
+
+        assertEquals(3, created.get());
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(first));
+        assertFalse(cache.contains(second));
+        assertNotNull(evicted.getShutdownReport());
+        assertNull(context.getShutdownReport());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    void testCloseClosesCachedContexts() {
+        ContextCache cache = new ContextCache(2);
+        KevaIoC context = cache.get(ContextKey.of(SharedContextTest.class), () -> newContext(new AtomicInteger()));
+        cache.close();
+        assertEquals(0, cache.size());
+        assertNotNull(context.getShutdownReport());
+    }
+
+    @Test
+    void testInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ContextCache(0));
+    }
+
+    private static KevaIoC newContext(AtomicInteger created) {
+        created.incrementAndGet();
+        return KevaIoC.initBeans(DirtiesContextTest.class);
+    }
+}
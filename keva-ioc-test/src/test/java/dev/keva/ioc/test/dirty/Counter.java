@@ -0,0 +1,12 @@
+package dev.keva.ioc.test.dirty;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Counter {
+    private int count;
+
+    public int increment() {
+        return ++count;
+    }
+}
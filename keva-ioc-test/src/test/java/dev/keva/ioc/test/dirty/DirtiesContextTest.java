@@ -0,0 +1,34 @@
+package dev.keva.ioc.test.dirty;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.test.DirtiesContext;
+import dev.keva.ioc.test.KevaTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+@KevaTest
+public class DirtiesContextTest {
+    private static KevaIoC previous;
+
+    @Autowired
+    private Counter counter;
+
+    @Test
+    @DirtiesContext
+    void testFirst(KevaIoC context) {
+        assertNotSame(previous, context);
+        previous = context;
+        assertEquals(1, counter.increment());
+    }
+
+    @Test
+    @DirtiesContext
+    void testSecond(KevaIoC context) {
+        assertNotSame(previous, context);
+        previous = context;
+        assertEquals(1, counter.increment());
+    }
+}
@@ -0,0 +1,14 @@
+package dev.keva.ioc.test.shared;
+
+import dev.keva.ioc.annotation.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class Clock {
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public Clock() {
+        INSTANCES.incrementAndGet();
+    }
+}
@@ -0,0 +1,14 @@
+package dev.keva.ioc.test.shared;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Scheduler {
+    @Autowired
+    private Clock clock;
+
+    public Clock getClock() {
+        return clock;
+    }
+}
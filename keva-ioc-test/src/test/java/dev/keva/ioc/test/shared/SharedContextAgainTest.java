@@ -0,0 +1,23 @@
+package dev.keva.ioc.test.shared;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.test.KevaTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@KevaTest(SharedContextTest.class)
+public class SharedContextAgainTest {
+    @Autowired
+    private Scheduler scheduler;
+
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void testContextReused() {
+        assertSame(clock, scheduler.getClock());
+        assertEquals(1, Clock.INSTANCES.get());
+    }
+}
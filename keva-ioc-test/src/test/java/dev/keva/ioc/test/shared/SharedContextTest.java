@@ -0,0 +1,29 @@
+package dev.keva.ioc.test.shared;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.test.KevaTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@KevaTest
+public class SharedContextTest {
+    @Autowired
+    private Scheduler scheduler;
+
+    @Autowired
+    private Clock clock;
+
+    @Test
+    void testFieldsInjected() {
+        assertNotNull(scheduler);
+        assertSame(clock, scheduler.getClock());
+    }
+
+    @Test
+    void testContextCreatedOnce(KevaIoC context) {
+        assertSame(clock, context.getBean(Clock.class));
+        assertEquals(1, Clock.INSTANCES.get());
+    }
+}
@@ -0,0 +1,36 @@
+package dev.keva.ioc.codegen;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.core.BeanFactory;
+import dev.keva.ioc.core.ConfigurationFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ComponentScan("dev.keva.ioc.codegen")
+public class CodegenTest {
+    static KevaIoC kevaIoC;
+
+    @BeforeAll
+    static void init() {
+        kevaIoC = KevaIoC.initBeans(CodegenTest.class);
+    }
+
+    @Test
+    void testFactoriesGenerated() throws ClassNotFoundException {
+        assertTrue(BeanFactory.class.isAssignableFrom(
+                Class.forName(BeanFactory.getFactoryName(GreetingService.class.getName()))));
+        assertTrue(ConfigurationFactory.class.isAssignableFrom(
+                Class.forName(BeanFactory.getFactoryName(PunctuationConfiguration.class.getName()))));
+    }
+
+    @Test
+    void testGeneratedWiring() {
+        GreetingService service = kevaIoC.getBean(GreetingService.class);
+        assertEquals("Hello Keva!", service.greet("Keva"));
+        assertEquals(1, kevaIoC.getBean(Recorder.class).getRecords().size());
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.codegen;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class EnglishGreeter implements Greeter {
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+}
@@ -0,0 +1,5 @@
+package dev.keva.ioc.codegen;
+
+public interface Greeter {
+    String greet(String name);
+}
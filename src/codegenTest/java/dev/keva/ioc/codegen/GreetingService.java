@@ -0,0 +1,30 @@
+package dev.keva.ioc.codegen;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class GreetingService {
+    private final Greeter greeter;
+
+    @Autowired
+    Punctuation punctuation;
+
+    private Recorder recorder;
+
+    @Autowired
+    public GreetingService(Greeter greeter) {
+        this.greeter = greeter;
+    }
+
+    @Autowired
+    public void setRecorder(Recorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public String greet(String name) {
+        String greeting = greeter.greet(name) + punctuation.getMark();
+        recorder.record(greeting);
+        return greeting;
+    }
+}
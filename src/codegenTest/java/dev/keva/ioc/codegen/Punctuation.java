@@ -0,0 +1,13 @@
+package dev.keva.ioc.codegen;
+
+public class Punctuation {
+    private final String mark;
+
+    public Punctuation(String mark) {
+        this.mark = mark;
+    }
+
+    public String getMark() {
+        return mark;
+    }
+}
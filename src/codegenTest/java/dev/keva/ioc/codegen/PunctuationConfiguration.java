@@ -0,0 +1,12 @@
+package dev.keva.ioc.codegen;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class PunctuationConfiguration {
+    @Bean
+    public Punctuation punctuation() {
+        return new Punctuation("!");
+    }
+}
@@ -0,0 +1,19 @@
+package dev.keva.ioc.codegen;
+
+import dev.keva.ioc.annotation.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class Recorder {
+    private final List<String> records = new ArrayList<>();
+
+    public void record(String text) {
+        records.add(text);
+    }
+
+    public List<String> getRecords() {
+        return records;
+    }
+}
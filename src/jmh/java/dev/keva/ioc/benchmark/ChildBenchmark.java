@@ -0,0 +1,40 @@
+package dev.keva.ioc.benchmark;
+
+import dev.keva.ioc.KevaIoC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a child container with one bean over a built graph, and a lookup through the child that falls
+ * through to the parent. Allocation per child is reported by the GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ChildBenchmark {
+    @Param({"g100", "g1000"})
+    public String graph;
+
+    private KevaIoC context;
+    private KevaIoC child;
+    private Class<?> rootService;
+
+    @Setup
+    public void setup() throws Exception {
+        Class<?> mainClass = Graphs.getMainClass(graph);
+        context = KevaIoC.initBeans(mainClass);
+        child = context.createChild(new StringBuilder("tenant"));
+        rootService = (Class<?>) Graphs.getConstant(mainClass, "ROOT_SERVICE");
+    }
+
+    @Benchmark
+    public KevaIoC createChild() {
+        return context.createChild(new StringBuilder("tenant"));
+    }
+
+    @Benchmark
+    public Object getBeanThroughChild() {
+        return child.getBean(rootService);
+    }
+}
@@ -0,0 +1,69 @@
+package dev.keva.ioc.benchmark;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.BeanKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of an existing singleton by its class, by its interface and through a {@link BeanKey} resolved in
+ * setup, from one thread and from eight threads sharing the container.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GetBeanBenchmark {
+    @Param({"g100", "g1000"})
+    public String graph;
+
+    private KevaIoC context;
+    private Class<?> root;
+    private Class<?> rootService;
+    private BeanKey<?> rootServiceKey;
+
+    @Setup
+    public void setup() throws Exception {
+        Class<?> mainClass = Graphs.getMainClass(graph);
+        context = KevaIoC.initBeans(mainClass);
+        root = (Class<?>) Graphs.getConstant(mainClass, "ROOT");
+        rootService = (Class<?>) Graphs.getConstant(mainClass, "ROOT_SERVICE");
+        rootServiceKey = context.getBeanKey(rootService);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object byClass() {
+        return context.getBean(root);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object byInterface() {
+        return context.getBean(rootService);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object byClassContended() {
+        return context.getBean(root);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object byInterfaceContended() {
+        return context.getBean(rootService);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object byKey() {
+        return rootServiceKey.get();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object byKeyContended() {
+        return rootServiceKey.get();
+    }
+}
@@ -0,0 +1,21 @@
+package dev.keva.ioc.benchmark;
+
+/**
+ * Access to the component graphs generated by the {@code generateBenchmarkGraphs} task, a graph is named after
+ * its size, e.g. {@code g1000}. The {@code graph} parameters of the benchmarks default to the graphs of the default
+ * specs, {@code jmh.gradle} replaces them with the graphs actually generated.
+ */
+final class Graphs {
+    private static final String PACKAGE = "dev.keva.ioc.benchmark.graph.";
+
+    private Graphs() {
+    }
+
+    static Class<?> getMainClass(String graph) throws ClassNotFoundException {
+        return Class.forName(PACKAGE + graph + ".Graph");
+    }
+
+    static Object getConstant(Class<?> mainClass, String name) throws ReflectiveOperationException {
+        return mainClass.getField(name).get(null);
+    }
+}
@@ -0,0 +1,49 @@
+package dev.keva.ioc.benchmark;
+
+import dev.keva.ioc.core.ComponentIndex;
+import dev.keva.ioc.utils.ClassLoaderUtil;
+import dev.keva.ioc.utils.ClassNameFilter;
+import dev.keva.ioc.utils.ScanCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class discovery phase alone: reading the compile-time index, scanning class files and reading the scan
+ * result back from a warm on-disk cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ScanBenchmark {
+    @Param({"g100", "g1000"})
+    public String graph;
+
+    private String packageName;
+    private ScanCache scanCache;
+
+    @Setup
+    public void setup() throws Exception {
+        packageName = (String) Graphs.getConstant(Graphs.getMainClass(graph), "PACKAGE");
+        scanCache = new ScanCache(Files.createTempDirectory("keva-benchmark"));
+        scanCache.getClasses(packageName, ClassNameFilter.ALL);
+    }
+
+    @Benchmark
+    public List<Class<?>> index() throws Exception {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return ComponentIndex.load(classLoader).getClasses(packageName, classLoader);
+    }
+
+    @Benchmark
+    public List<Class<?>> scanner() throws Exception {
+        return ClassLoaderUtil.getClasses(packageName);
+    }
+
+    @Benchmark
+    public List<Class<?>> scanCache() throws Exception {
+        return scanCache.getClasses(packageName, ClassNameFilter.ALL);
+    }
+}
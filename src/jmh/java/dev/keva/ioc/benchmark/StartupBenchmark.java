@@ -0,0 +1,63 @@
+package dev.keva.ioc.benchmark;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.ComponentIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end container startup, with classes found through the compile-time index, the runtime scanner or the
+ * on-disk scan cache, and beans created serially, in parallel or lazily.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+    @Param({"g100", "g1000"})
+    public String graph;
+
+    @Param({"index", "scan", "scanCache"})
+    public String discovery;
+
+    private Class<?> mainClass;
+    private Path scanCacheDirectory;
+
+    @Setup
+    public void setup() throws Exception {
+        mainClass = Graphs.getMainClass(graph);
+        if ("index".equals(discovery)) {
+            System.clearProperty(ComponentIndex.IGNORE_PROPERTY);
+        } else {
+            System.setProperty(ComponentIndex.IGNORE_PROPERTY, "true");
+        }
+        scanCacheDirectory = Files.createTempDirectory("keva-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(ComponentIndex.IGNORE_PROPERTY);
+    }
+
+    @Benchmark
+    public KevaIoC serial() {
+        return builder().build();
+    }
+
+    @Benchmark
+    public KevaIoC parallel() {
+        return builder().parallel().build();
+    }
+
+    @Benchmark
+    public KevaIoC lazy() {
+        return builder().lazy().build();
+    }
+
+    private KevaIoC.Builder builder() {
+        KevaIoC.Builder builder = KevaIoC.builder(mainClass);
+        return "scanCache".equals(discovery) ? builder.scanCache(scanCacheDirectory) : builder;
+    }
+}
@@ -1,23 +1,56 @@
 package dev.keva.ioc;
 
 import dev.keva.ioc.annotation.*;
+import dev.keva.ioc.core.AsyncBeans;
 import dev.keva.ioc.core.BeanContainer;
+import dev.keva.ioc.core.BeanDestroyer;
+import dev.keva.ioc.core.BeanFactory;
+import dev.keva.ioc.core.BeanKey;
+import dev.keva.ioc.core.BeanPool;
+import dev.keva.ioc.core.BeanMethodFactory;
+import dev.keva.ioc.core.BeanResolver;
+import dev.keva.ioc.core.BeanSlots;
 import dev.keva.ioc.core.CircularDependencyDetector;
+import dev.keva.ioc.core.ComponentIndex;
+import dev.keva.ioc.core.ConfigurationFactory;
+import dev.keva.ioc.core.CreationLatches;
+import dev.keva.ioc.core.CriticalPath;
+import dev.keva.ioc.core.DependencyGraph;
+import dev.keva.ioc.core.DeferredInjections;
+import dev.keva.ioc.core.Footprint;
 import dev.keva.ioc.core.ImplementationContainer;
+import dev.keva.ioc.core.InjectionPlan;
+import dev.keva.ioc.core.LazyProxy;
+import dev.keva.ioc.core.LifecycleMethods;
+import dev.keva.ioc.core.Provider;
+import dev.keva.ioc.core.ShutdownReport;
+import dev.keva.ioc.core.StartupExecutors;
+import dev.keva.ioc.core.StartupReport;
+import dev.keva.ioc.core.WiringPlan;
 import dev.keva.ioc.exception.IoCBeanNotFound;
 import dev.keva.ioc.exception.IoCCircularDepException;
 import dev.keva.ioc.exception.IoCException;
+import dev.keva.ioc.jfr.ContainerEvents;
 import dev.keva.ioc.utils.ClassLoaderUtil;
-import dev.keva.ioc.utils.FinderUtil;
-import org.reflections.Reflections;
+import dev.keva.ioc.utils.ClassNameFilter;
+import dev.keva.ioc.utils.ScanCache;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 /**
  * KevaIoC - A lightweight dependency injection and inversion of control container.
@@ -33,49 +66,249 @@ import java.util.*;
  * - Exception handling to manage errors related to bean instantiation, circular dependencies, and missing beans.
  *
  * Usage:
- * - To use this container, the user must call the static method `initBeans` with the main class and any predefined beans.
- * - Beans can be fetched using the `getBean` method by providing the class type.
+ * - To use this container, the user must call the static method `initBeans` with the main class and any predefined beans,
+ *   or configure a `Builder` through `KevaIoC.builder(mainClass)`, e.g. to create independent beans in parallel.
+ *   `initBeansAsync` starts the container on the common pool and completes once every bean exists.
+ *   `Builder.virtualThreads()` creates beans on virtual threads, or on a bounded platform pool before Java 21; the
+ *   container owns that executor and shuts it down at the end of the startup.
+ * - `Builder.plan()` resolves the wiring without creating beans into a `WiringPlan`, usually at build time, and
+ *   `fromPlan` replays it without scanning or resolving: `plan` and `replay` follow the same order as `init`.
+ * - Beans can be fetched using the `getBean` method by providing the class type, hot paths resolve a `BeanKey`
+ *   once through `getBeanKey` and read the bean from its array slot afterwards.
+ * - `createChild` layers a few beans over a built container, lookups the child cannot answer go to the parent.
+ * - `close` destroys the singletons through `@PreDestroy` methods or `AutoCloseable.close()` with a `BeanDestroyer`:
+ *   in reverse dependency order, independent beans in parallel, within a per-bean timeout and an overall deadline.
  *
  * Method Execution Flow:
  * 1. `initBeans`: Initializes the IoC container with an optional list of predefined beans. This method handles all
  *    initial setup including scanning components, registering beans, and handling any exceptions that occur during initialization.
  * 2. `initWrapper`: Called by `initBeans`, this method performs the detailed initialization sequence including:
  *    a. Registering predefined beans if provided.
- *    b. Component scanning using annotations to discover and register additional beans.
+ *    b. Component scanning using annotations to discover and register additional beans, once per package:
+ *       `@ComponentScan` packages nested in another listed one are dropped.
  * 3. `init`: Helper method called by `initWrapper` to perform scanning within a specific package, it handles:
  *    a. Registering the container itself as a bean.
- *    b. Scanning for implementations, configurations, and components within the package.
- * 4. `scanImplementations`, `scanConfigurationClass`, `scanComponentClasses`: These methods are used to find and register beans based on different criteria like annotated classes or methods within classes.
+ *    b. Reading the package's classes from the compile-time `ComponentIndex` when one covers it, falling back to
+ *       the single-pass bytecode scanner of `ClassLoaderUtil` otherwise, which walks every classpath root of the
+ *       package in parallel.
+ *    c. Registering implementations, configurations, and components within the package.
+ *    Each phase and each bean creation is timed into the `StartupReport` and emitted as a JFR event by `ContainerEvents`.
+ *    Once built, `complete` freezes `BeanContainer` and `ImplementationContainer` into compact arrays, `getFootprint`
+ *    estimates their heap.
+ * 4. `registerImplementations`, `scanConfigurationClass`, `scanComponentClasses`: These methods are used to find and register beans based on different criteria like annotated classes or methods within classes.
+ *    `@Bean` methods returning a `CompletionStage` or annotated with `@AsyncInit` are started by `startAsyncBean` and
+ *    tracked in `AsyncBeans`: lookups of such a bean wait for it, the container is built once all of them are done.
+ *    `@Lazy` components, or all components in lazy mode, are only registered and get created on first use.
+ *    `@Scope("prototype")` components are created for every lookup, `@Scope("pooled")` ones are borrowed from a `BeanPool`
+ *    by `getBean` and `Provider.get()` only, they cannot be injected directly.
  * 5. `newInstanceWrapper`: Handles instantiation of a class, managing circular dependencies and injecting necessary dependencies.
+ *    Each bean is created at most once through a per-class latch from `CreationLatches`, lookups of existing beans
+ *    never lock and cycles are detected per thread.
+ *    Classes compiled in codegen mode are created and injected by their generated `BeanFactory` instead of reflection.
+ *    `@PostConstruct` methods of a component run once it is injected, before it becomes visible to other threads.
  * 6. `_getBean`: Overloaded methods that resolve and return beans by type, handling instantiation if not already present in the container.
  * 7. `fieldInject`, `setterInject`: Methods for performing dependency injection into annotated fields and setter methods respectively.
+ *    Constructors and injection points of a class are looked up once into a shared `InjectionPlan` and invoked
+ *    through method handles. `Provider<T>` and `Optional<T>` injection points are resolved by `resolve`, and
+ *    `List<T>`, `T[]` and `Map<String, T>` ones receive every bean of `T` in `@Order` from `resolveBeans`.
  *
  * Exceptions:
  * - The class handles various exceptions that may arise during the operation of the IoC container such as `IoCException`,
  *   `IoCBeanNotFound`, and `IoCCircularDepException`. These are typically re-thrown as `IoCException` with appropriate error messages.
  *
- * This class is part of the `dev.keva.ioc` package and depends on various other classes within the same package and third-party
- * libraries such as `org.reflections.Reflections` for component scanning based on annotations.
+ * This class is part of the `dev.keva.ioc` package and depends on various other classes within the same package, it has no
+ * third-party dependency for component scanning.
  */
-public class KevaIoC {
+public class KevaIoC implements AutoCloseable {
+    private static final Duration DEFAULT_BEAN_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DEFAULT_SHUTDOWN_DEADLINE = Duration.ofSeconds(30);
+    private static final ClassValue<BeanFactory<?>> BEAN_FACTORIES = new ClassValue<BeanFactory<?>>() {
+        @Override
+        protected BeanFactory<?> computeValue(Class<?> type) {
+            try {
+                return (BeanFactory<?>) Class.forName(BeanFactory.getFactoryName(type.getName()), true,
+                        type.getClassLoader()).getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                throw new IoCException("Generated factory is missing for class " + type.getName());
+            } catch (ReflectiveOperationException e) {
+                throw new IoCException(e);
+            }
+        }
+    };
+
     private final BeanContainer beanContainer = new BeanContainer();
     private final ImplementationContainer implementationContainer = new ImplementationContainer();
-    private final CircularDependencyDetector circularDependencyDetector = new CircularDependencyDetector();
+    private final CircularDependencyDetector circularDependencyDetector;
+    private final CreationLatches creationLatches = new CreationLatches();
+    private final DeferredInjections deferredInjections = new DeferredInjections();
+    private final BeanResolver creatingResolver = new ContainerResolver(true);
+    private final BeanResolver lookupResolver = new ContainerResolver(false);
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final boolean lazy;
+    private final ClassNameFilter classNameFilter;
+    private final ScanCache scanCache;
+    private final Set<Class<?>> lazyDefinitions = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, String> scopes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BeanPool<Object>> pools = new ConcurrentHashMap<>();
+    private final BeanSlots beanSlots = new BeanSlots();
+    private final AsyncBeans asyncBeans = new AsyncBeans();
+    private final Set<Class<?>> predefinedClasses = ConcurrentHashMap.newKeySet();
+    private final StartupReport startupReport;
+    private final KevaIoC parent;
+    private ComponentIndex componentIndex;
+    private boolean componentIndexLoaded;
+    private volatile CriticalPath criticalPath;
+    private volatile ShutdownReport shutdownReport;
 
-    private KevaIoC() {
+    private KevaIoC(Builder builder) {
+        this.ownedExecutor = builder.platformThreads > 0 ?
+                StartupExecutors.newStartupExecutor(builder.platformThreads) : null;
+        this.executor = ownedExecutor != null ? ownedExecutor : builder.executor;
+        this.lazy = builder.lazy;
+        this.classNameFilter = new ClassNameFilter(builder.includes, builder.excludes);
+        this.scanCache = builder.scanCacheDirectory != null ? new ScanCache(builder.scanCacheDirectory) : null;
+        this.circularDependencyDetector = new CircularDependencyDetector();
+        this.startupReport = new StartupReport();
+        this.parent = null;
+    }
+
+    /**
+     * A child starts empty and shares the read-only parts of its parent, its startup report is the parent's
+     * completed one.
+     */
+    private KevaIoC(KevaIoC parent) {
+        this.executor = null;
+        this.ownedExecutor = null;
+        this.lazy = false;
+        this.classNameFilter = parent.classNameFilter;
+        this.scanCache = null;
+        this.circularDependencyDetector = parent.circularDependencyDetector;
+        this.startupReport = parent.startupReport;
+        this.parent = parent;
+        this.componentIndex = parent.componentIndex;
+        this.componentIndexLoaded = true;
     }
 
     public static KevaIoC initBeans(Class<?> mainClass, Object... predefinedBeans) {
+        return builder(mainClass).beans(predefinedBeans).build();
+    }
+
+    /**
+     * Builds the container on the common {@link ForkJoinPool}, so that the caller can go on
+     * with its own startup. The stage completes once asynchronous {@code @Bean} methods are done as well.
+     */
+    public static CompletionStage<KevaIoC> initBeansAsync(Class<?> mainClass, Object... predefinedBeans) {
+        return builder(mainClass).beans(predefinedBeans).buildAsync();
+    }
+
+    public static Builder builder(Class<?> mainClass) {
+        return new Builder(mainClass);
+    }
+
+    /**
+     * Creates the container from a plan resolved ahead of time by {@link Builder#plan()}, usually written at build
+     * time by {@code WiringPlanGenerator}. The classpath is not scanned and the beans of the plan are created in
+     * its order with the dependencies it names. Fails when the classes differ from the ones the plan was built from.
+     */
+    public static KevaIoC fromPlan(WiringPlan plan, Object... predefinedBeans) {
         try {
-            KevaIoC instance = new KevaIoC();
-            instance.initWrapper(mainClass, predefinedBeans);
+            KevaIoC instance = new KevaIoC(new Builder(null).include(plan.getIncludes()).exclude(plan.getExcludes()));
+            instance.replay(plan, predefinedBeans);
+            instance.awaitAsyncBeans();
+            instance.complete();
             return instance;
         } catch (IOException | ClassNotFoundException | InstantiationException | IllegalAccessException |
-                InvocationTargetException | NoSuchMethodException | IoCBeanNotFound | IoCCircularDepException | URISyntaxException e) {
+                InvocationTargetException | NoSuchMethodException | IoCBeanNotFound | IoCCircularDepException e) {
             throw new IoCException(e);
         }
     }
 
+    /**
+     * Creates a child container holding only the given beans. A {@code Class} argument registers that class as a
+     * component of the child instead, created on first use and wired against the child's beans. Lookups the child
+     * cannot answer fall through to this container, so beans of the parent are shared and keep the wiring they were
+     * created with. A child bean registered under a type wins over the parent's implementations of that type.
+     * Nothing is scanned or copied, creating a child costs a handful of empty maps.
+     */
+    public KevaIoC createChild(Object... beans) {
+        KevaIoC child = new KevaIoC(this);
+        List<Object> instances = new ArrayList<>(beans.length);
+        for (Object bean : beans) {
+            if (bean instanceof Class) {
+                child.registerImplementation((Class<?>) bean);
+                child.lazyDefinitions.add((Class<?>) bean);
+            } else {
+                instances.add(bean);
+            }
+        }
+        child.registerPredefinedBeans(instances.toArray());
+        child.beanContainer.putBean(KevaIoC.class, child);
+        child.implementationContainer.putImplementationClass(KevaIoC.class, KevaIoC.class);
+        return child;
+    }
+
+    public KevaIoC getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the longest chain of dependent bean creations of a parallel startup, {@code null} when the beans
+     * were created serially.
+     */
+    public CriticalPath getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Returns the timings of the phases and bean creations of the startup, {@link StartupReport#toJson()} and
+     * {@link StartupReport#toDot()} export them.
+     */
+    public StartupReport getStartupReport() {
+        return startupReport;
+    }
+
+    /**
+     * Returns the number of entries and the estimated heap of the bean and implementation registries of this
+     * container, compacted at the end of the startup.
+     */
+    public Footprint getFootprint() {
+        return new Footprint(beanContainer.size(), beanContainer.estimateBytes(), implementationContainer.size(),
+                implementationContainer.estimateBytes(), beanContainer.isFrozen());
+    }
+
+    /**
+     * Returns the pool of a {@code @Scope("pooled")} component. {@link #getBean(Class)} and injected
+     * {@code Provider}s borrow from the same pool, instances obtained either way go back through
+     * {@link #release(Object)}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BeanPool<T> getPool(Class<T> clazz) {
+        Class<?> implementationClass = getImplementationClass(clazz, null, null);
+        if (parent != null && !scopes.containsKey(implementationClass)) {
+            return parent.getPool(clazz);
+        }
+        if (!Scope.POOLED.equals(scopes.get(implementationClass))) {
+            throw new IoCException("Bean " + clazz.getName() + " is not pooled");
+        }
+        return (BeanPool<T>) pools.computeIfAbsent(implementationClass, k -> new BeanPool<>(() -> {
+            try {
+                return newScopedInstance(k);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                    NoSuchMethodException | IoCBeanNotFound | IoCCircularDepException e) {
+                throw new IoCException(e);
+            }
+        }, getPoolSize(k)));
+    }
+
+    /**
+     * Returns a pooled bean to its pool, throws an {@link IoCException} if the bean is not borrowed from it.
+     */
+    @SuppressWarnings("unchecked")
+    public void release(Object bean) {
+        ((BeanPool<Object>) getPool(bean.getClass())).release(bean);
+    }
+
     public <T> T getBean(Class<T> clazz) {
         try {
             return _getBean(clazz);
@@ -85,32 +318,121 @@ public class KevaIoC {
         }
     }
 
+    /**
+     * Resolves the implementation of the type once and returns a handle whose {@link BeanKey#get()} reads the
+     * singleton from an array slot. The handle stays valid for the lifetime of the container, a lazy bean is
+     * created by the first {@code get()}. Fails like {@link #getBean(Class)} when no implementation is registered.
+     */
+    public <T> BeanKey<T> getBeanKey(Class<T> clazz) {
+        Class<?> implementationClass = getImplementationClass(clazz, null, null);
+        if (!isManaged(implementationClass)) {
+            throw new IoCException(new IoCBeanNotFound("Cannot found bean for " + clazz.getName()));
+        }
+        return new BeanKey<>(clazz, implementationClass, beanSlots, isSingleton(implementationClass),
+                () -> getBean(clazz));
+    }
+
+    private boolean isSingleton(Class<?> implementationClass) {
+        return !scopes.containsKey(implementationClass) && (parent == null || parent.isSingleton(implementationClass));
+    }
+
+    private boolean isPooled(Class<?> implementationClass) {
+        String scope = scopes.get(implementationClass);
+        return scope != null ? Scope.POOLED.equals(scope) : parent != null && parent.isPooled(implementationClass);
+    }
+
+    /**
+     * Destroys the singletons like {@link #close(Duration, Duration)}, giving each bean 10 seconds and the whole
+     * shutdown 30 seconds.
+     */
+    @Override
+    public void close() {
+        close(DEFAULT_BEAN_TIMEOUT, DEFAULT_SHUTDOWN_DEADLINE);
+    }
+
+    /**
+     * Destroys the singletons this container created, calling their {@code @PreDestroy} methods, or
+     * {@code close()} for {@link AutoCloseable} beans. A bean is destroyed after the components depending on it,
+     * beans independent of each other are destroyed in parallel. A destruction still running after
+     * {@code beanTimeout} is interrupted, beans not reached before {@code deadline} are skipped, and failures are
+     * reported rather than thrown. Predefined beans and the beans of a parent container are left alone. Only the
+     * first call destroys anything, later ones return its report.
+     */
+    public synchronized ShutdownReport close(Duration beanTimeout, Duration deadline) {
+        if (shutdownReport == null) {
+            shutdownReport = newBeanDestroyer().destroy(beanTimeout.toNanos(), deadline.toNanos());
+        }
+        return shutdownReport;
+    }
+
+    /**
+     * Returns the report of {@link #close()}, {@code null} while the container is open.
+     */
+    public ShutdownReport getShutdownReport() {
+        return shutdownReport;
+    }
+
+    private BeanDestroyer newBeanDestroyer() {
+        BeanDestroyer destroyer = new BeanDestroyer();
+        List<Class<?>> classes = beanContainer.getClasses();
+        for (Class<?> clazz : classes) {
+            if (clazz == KevaIoC.class || predefinedClasses.contains(clazz)) {
+                continue;
+            }
+            destroyer.addClass(clazz);
+            for (Map.Entry<String, Object> entry : beanContainer.getBeans(clazz).entrySet()) {
+                Object bean = entry.getValue();
+                String name = entry.getKey().isEmpty() ? clazz.getName() : entry.getKey();
+                LifecycleMethods lifecycle = LifecycleMethods.of(bean.getClass());
+                if (lifecycle.hasPreDestroy()) {
+                    destroyer.addBean(clazz, name, bean, instance -> {
+                        try {
+                            lifecycle.preDestroy(instance);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                        }
+                    });
+                } else if (bean instanceof AutoCloseable) {
+                    destroyer.addBean(clazz, name, bean, instance -> ((AutoCloseable) instance).close());
+                }
+            }
+        }
+        for (Class<?> clazz : classes) {
+            if (clazz.isAnnotationPresent(Component.class)) {
+                for (Class<?> dependency : findDependencies(clazz)) {
+                    destroyer.addDependency(clazz, dependency);
+                }
+            }
+        }
+        return destroyer;
+    }
+
     private void initWrapper(Class<?> mainClass, Object[] predefinedBeans) throws IOException, ClassNotFoundException,
             InstantiationException, IllegalAccessException, NoSuchMethodException,
             InvocationTargetException, IoCBeanNotFound, IoCCircularDepException, URISyntaxException {
+        registerPredefinedBeans(predefinedBeans);
+        for (String packageName : getPackages(mainClass)) {
+            init(packageName);
+        }
+    }
+
+    private void registerPredefinedBeans(Object[] predefinedBeans) {
         if (predefinedBeans != null && predefinedBeans.length > 0) {
            for (Object bean : predefinedBeans) {
-               Class<?>[] interfaces = bean.getClass().getInterfaces();
-               if (interfaces.length == 0) {
-                   implementationContainer.putImplementationClass(bean.getClass(), bean.getClass());
-               } else {
-                   for (Class<?> interfaceClass : interfaces) {
-                       implementationContainer.putImplementationClass(bean.getClass(), interfaceClass);
-                   }
-               }
+               implementationContainer.putImplementationClass(bean.getClass(), bean.getClass());
                beanContainer.putBean(bean.getClass(), bean);
+               predefinedClasses.add(bean.getClass());
            }
         }
+    }
 
+    /**
+     * Returns the packages to scan, without the ones a scan of another listed package covers.
+     */
+    private static List<String> getPackages(Class<?> mainClass) {
         ComponentScan scan = mainClass.getAnnotation(ComponentScan.class);
-        if (scan != null) {
-            String[] packages = scan.value();
-            for (String packageName : packages) {
-                init(packageName);
-            }
-        } else {
-            init(mainClass.getPackage().getName());
-        }
+        return scan != null ? ClassLoaderUtil.getRootPackages(scan.value()) :
+                Collections.singletonList(mainClass.getPackage().getName());
     }
 
     private void init(String packageName) throws IOException, InstantiationException, IllegalAccessException,
@@ -118,179 +440,1307 @@ public class KevaIoC {
             ClassNotFoundException {
         beanContainer.putBean(KevaIoC.class, this);
         implementationContainer.putImplementationClass(KevaIoC.class, KevaIoC.class);
-        List<Class<?>> classes = ClassLoaderUtil.getClasses(packageName);
-        scanImplementations(packageName);
+        long start = System.nanoTime();
+        List<Class<?>> classes = discoverClasses(packageName);
+        start = startupReport.recordPhase(StartupReport.Phase.CLASS_DISCOVERY, packageName, start);
+        registerImplementations(classes);
+        start = startupReport.recordPhase(StartupReport.Phase.IMPLEMENTATIONS, packageName, start);
         scanConfigurationClass(classes);
+        start = startupReport.recordPhase(StartupReport.Phase.CONFIGURATIONS, packageName, start);
         scanComponentClasses(classes);
+        startupReport.recordPhase(StartupReport.Phase.COMPONENTS, packageName, start);
     }
 
-    private void scanImplementations(String packageName) {
-        Reflections reflections = new Reflections(packageName);
-        Set<Class<?>> componentClasses = reflections.getTypesAnnotatedWith(Component.class);
-        for (Class<?> implementationClass : componentClasses) {
-            Class<?>[] interfaces = implementationClass.getInterfaces();
-            if (interfaces.length == 0) {
-                implementationContainer.putImplementationClass(implementationClass, implementationClass);
-            } else {
-                for (Class<?> interfaceClass : interfaces) {
-                    implementationContainer.putImplementationClass(implementationClass, interfaceClass);
+    private List<Class<?>> discoverClasses(String packageName) throws IOException, URISyntaxException,
+            ClassNotFoundException {
+        ComponentIndex index = getComponentIndex();
+        if (index != null && index.covers(packageName)) {
+            return index.getClasses(packageName, classNameFilter, Thread.currentThread().getContextClassLoader());
+        }
+        return scanCache != null ? scanCache.getClasses(packageName, classNameFilter) :
+                ClassLoaderUtil.getClasses(packageName, classNameFilter);
+    }
+
+    private ComponentIndex getComponentIndex() throws IOException {
+        if (!componentIndexLoaded) {
+            componentIndex = ComponentIndex.load(Thread.currentThread().getContextClassLoader());
+            componentIndexLoaded = true;
+        }
+        return componentIndex;
+    }
+
+    private void registerImplementations(List<Class<?>> classes) {
+        for (Class<?> clazz : classes) {
+            if (clazz.isAnnotationPresent(Component.class)) {
+                registerImplementation(clazz);
+                String scope = getScope(clazz);
+                if (!Scope.SINGLETON.equals(scope)) {
+                    scopes.put(clazz, scope);
                 }
+            } else if (clazz.isAnnotationPresent(Configuration.class)) {
+                registerBeanMethods(clazz);
             }
         }
-        Set<Class<?>> configurationClasses = reflections.getTypesAnnotatedWith(Configuration.class);
-        for (Class<?> configurationClass : configurationClasses) {
-            Set<Method> methods = FinderUtil.findMethods(configurationClass, Bean.class);
-            for (Method method : methods) {
-                Class<?> returnType = method.getReturnType();
-                implementationContainer.putImplementationClass(returnType, returnType);
-            }
+    }
+
+    private void registerImplementation(Class<?> implementationClass) {
+        implementationContainer.putImplementationClass(implementationClass, implementationClass);
+    }
+
+    private static String getScope(Class<?> clazz) {
+        Scope annotation = clazz.getAnnotation(Scope.class);
+        if (annotation == null) {
+            return Scope.SINGLETON;
+        }
+        String scope = annotation.value();
+        if (!Scope.SINGLETON.equals(scope) && !Scope.PROTOTYPE.equals(scope) && !Scope.POOLED.equals(scope)) {
+            throw new IoCException("Unknown scope " + scope + " of class " + clazz.getName());
+        }
+        return scope;
+    }
+
+    private static int getPoolSize(Class<?> clazz) {
+        int poolSize = clazz.getAnnotation(Scope.class).poolSize();
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    private void registerBeanMethods(Class<?> configurationClass) {
+        for (InjectionPlan.BeanMethod method : InjectionPlan.of(configurationClass).getBeanMethods()) {
+            Class<?> returnType = method.getType();
+            implementationContainer.putImplementationClass(returnType, returnType);
         }
     }
 
-    private void scanConfigurationClass(List<Class<?>> classes) throws IoCCircularDepException, InvocationTargetException,
-            IllegalAccessException, InstantiationException, NoSuchMethodException {
-        Deque<Class<?>> configurationClassesQ = new ArrayDeque<>(5);
+    private void scanConfigurationClass(List<Class<?>> classes) throws IoCCircularDepException, IoCBeanNotFound,
+            InvocationTargetException, IllegalAccessException, InstantiationException, NoSuchMethodException {
+        for (Class<?> configurationClass : orderConfigurations(classes, beanContainer::containsBean)) {
+            createConfiguration(configurationClass);
+        }
+    }
+
+    /**
+     * Orders the configuration classes so that each one comes after the configurations whose {@code @Bean}
+     * methods produce its dependencies. A dependency that neither exists nor is produced fails before any
+     * configuration is created, as does a cycle between configurations.
+     */
+    private List<Class<?>> orderConfigurations(List<Class<?>> classes, Predicate<Class<?>> exists)
+            throws IoCCircularDepException, IoCBeanNotFound {
+        DependencyGraph graph = new DependencyGraph();
+        List<Class<?>> configurationClasses = new ArrayList<>();
+        Map<Class<?>, List<Class<?>>> producers = new HashMap<>();
         for (Class<?> clazz : classes) {
             if (clazz.isAnnotationPresent(Configuration.class)) {
-                configurationClassesQ.add(clazz);
+                graph.addNode(clazz);
+                configurationClasses.add(clazz);
+                for (InjectionPlan.BeanMethod beanMethod : InjectionPlan.of(clazz).getBeanMethods()) {
+                    producers.computeIfAbsent(beanMethod.getType(), k -> new ArrayList<>()).add(clazz);
+                }
             }
         }
-        while (!configurationClassesQ.isEmpty()) {
-            Class<?> configurationClass = configurationClassesQ.removeFirst();
-            try {
-                Object instance = configurationClass.getConstructor().newInstance();
-                scanConfigurationBeans(configurationClass, instance);
-            } catch (IoCBeanNotFound e) {
-                configurationClassesQ.addLast(configurationClass);
+        for (Class<?> configurationClass : configurationClasses) {
+            for (InjectionPlan.InjectionPoint point : getInjectionPoints(configurationClass)) {
+                if (point.getKind() == InjectionPlan.InjectionPoint.Kind.PROVIDER) {
+                    continue;
+                }
+                if (point.isMultiple()) {
+                    for (Class<?> implementationClass : getImplementationClasses(point.getType())) {
+                        addProducerEdges(graph, configurationClass, producers.get(implementationClass));
+                    }
+                    continue;
+                }
+                Class<?> implementationClass = point.getKind() == InjectionPlan.InjectionPoint.Kind.OPTIONAL ?
+                        findImplementationClass(point) :
+                        getImplementationClass(point.getType(), point.getName(), point.getQualifier());
+                if (implementationClass == null) {
+                    continue;
+                }
+                List<Class<?>> producedBy = producers.get(implementationClass);
+                if (producedBy != null) {
+                    addProducerEdges(graph, configurationClass, producedBy);
+                } else if (!exists.test(implementationClass) && !scopes.containsKey(implementationClass)
+                        && !lazyDefinitions.contains(implementationClass)) {
+                    String message = "Cannot found bean for " + implementationClass.getName()
+                            + " required by configuration " + configurationClass.getName();
+                    ContainerEvents.INSTANCE.beanNotFound(implementationClass, message);
+                    throw new IoCBeanNotFound(message);
+                }
             }
         }
+        return graph.sort();
+    }
+
+    private static void addProducerEdges(DependencyGraph graph, Class<?> configurationClass, List<Class<?>> producedBy)
+            throws IoCCircularDepException {
+        if (producedBy == null) {
+            return;
+        }
+        if (producedBy.contains(configurationClass)) {
+            // Fields are injected before the @Bean methods run, a configuration cannot use its own beans
+            String name = configurationClass.getSimpleName();
+            throw new IoCCircularDepException("Circular dependency detected: " + name + " -> " + name);
+        }
+        for (Class<?> producer : producedBy) {
+            graph.addEdge(configurationClass, producer);
+        }
+    }
+
+    private static List<InjectionPlan.InjectionPoint> getInjectionPoints(Class<?> clazz) {
+        InjectionPlan plan = InjectionPlan.of(clazz);
+        List<InjectionPlan.InjectionPoint> points = new ArrayList<>(Arrays.asList(plan.getConstructorParameters()));
+        for (InjectionPlan.FieldInjection field : plan.getFields()) {
+            points.add(field.getPoint());
+        }
+        for (InjectionPlan.MethodInjection setter : plan.getSetters()) {
+            points.addAll(Arrays.asList(setter.getParameters()));
+        }
+        return points;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void createConfiguration(Class<?> configurationClass) throws IoCCircularDepException, IoCBeanNotFound,
+            InvocationTargetException, IllegalAccessException, InstantiationException, NoSuchMethodException {
+        StartupReport.BeanTimer timer = startupReport.startBean(configurationClass);
+        Object event = ContainerEvents.INSTANCE.beginInstantiation();
+        try {
+            ConfigurationFactory<Object> factory = (ConfigurationFactory<Object>) getBeanFactory(configurationClass);
+            if (factory != null) {
+                Object instance = factory.newInstance(lookupResolver);
+                timer.step(StartupReport.Step.CONSTRUCTOR);
+                factory.injectMembers(instance, lookupResolver);
+                timer.step(StartupReport.Step.FIELD_INJECTION);
+                for (BeanMethodFactory<Object> beanMethod : factory.getBeanMethods()) {
+                    StartupReport.BeanTimer beanTimer = startupReport.startBean(beanMethod.getType());
+                    try {
+                        beanContainer.putBean(beanMethod.getType(), beanMethod.create(instance), beanMethod.getName());
+                        beanTimer.step(StartupReport.Step.BEAN_METHOD);
+                    } finally {
+                        beanTimer.finish();
+                    }
+                }
+                ContainerEvents.INSTANCE.endInstantiation(event, configurationClass);
+                return;
+            }
+            Object instance = InjectionPlan.of(configurationClass).newInstance(new Object[0]);
+            timer.step(StartupReport.Step.CONSTRUCTOR);
+            scanConfigurationBeans(configurationClass, instance, timer);
+            ContainerEvents.INSTANCE.endInstantiation(event, configurationClass);
+        } finally {
+            timer.finish();
+        }
     }
 
     private void scanComponentClasses(List<Class<?>> classes) throws IoCCircularDepException, InvocationTargetException,
             IllegalAccessException, InstantiationException, NoSuchMethodException, IoCBeanNotFound {
+        List<Class<?>> eagerClasses = new ArrayList<>(classes.size());
         for (Class<?> clazz : classes) {
-            if (clazz.isAnnotationPresent(Component.class)) {
-                newInstanceWrapper(clazz);
+            if (clazz.isAnnotationPresent(Component.class) && !scopes.containsKey(clazz)) {
+                if (isLazy(clazz)) {
+                    lazyDefinitions.add(clazz);
+                } else {
+                    eagerClasses.add(clazz);
+                }
             }
         }
+        if (executor != null) {
+            scanComponentClassesInParallel(eagerClasses);
+            return;
+        }
+        for (Class<?> clazz : eagerClasses) {
+            newInstanceWrapper(clazz);
+        }
     }
 
-    private void scanConfigurationBeans(Class<?> clazz, Object classInstance) throws InvocationTargetException, IllegalAccessException,
-            InstantiationException, NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
-        Set<Method> methods = FinderUtil.findMethods(clazz, Bean.class);
-        Set<Field> fields = FinderUtil.findFields(clazz, Autowired.class);
+    private boolean isLazy(Class<?> clazz) {
+        Lazy annotation = clazz.getAnnotation(Lazy.class);
+        return annotation != null ? annotation.value() : lazy;
+    }
+
+    /**
+     * Creates the components following their dependency graph: beans whose dependencies are all created run
+     * concurrently on the executor, beans of a cycle are created together in scan order as in serial mode.
+     */
+    private void scanComponentClassesInParallel(List<Class<?>> classes) {
+        DependencyGraph graph = new DependencyGraph();
+        for (Class<?> clazz : classes) {
+            graph.addNode(clazz);
+        }
+        for (Class<?> clazz : classes) {
+            if (graph.containsNode(clazz)) {
+                for (Class<?> dependency : findDependencies(clazz)) {
+                    if (graph.containsNode(dependency)) {
+                        graph.addEdge(clazz, dependency);
+                    }
+                }
+            }
+        }
+        CriticalPath path = graph.execute(executor, members -> {
+            for (Class<?> member : members) {
+                newInstanceWrapper(member);
+            }
+        });
+        criticalPath = criticalPath == null ? path : criticalPath.then(path);
+    }
+
+    private Set<Class<?>> findDependencies(Class<?> clazz) {
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        InjectionPlan plan = InjectionPlan.of(clazz);
+        addDependencies(dependencies, plan.getConstructorParameters());
+        for (InjectionPlan.FieldInjection field : plan.getFields()) {
+            addDependency(dependencies, field.getPoint());
+        }
+        for (InjectionPlan.MethodInjection method : plan.getSetters()) {
+            addDependencies(dependencies, method.getParameters());
+        }
+        return dependencies;
+    }
 
-        for (Field field : fields) {
-            String qualifier = field.isAnnotationPresent(Qualifier.class) ? field.getAnnotation(Qualifier.class).value() : null;
-            Object fieldInstance = _getBean(field.getType(), field.getName(), qualifier, false);
-            field.set(classInstance, fieldInstance);
+    private void addDependencies(Set<Class<?>> dependencies, InjectionPlan.InjectionPoint[] points) {
+        for (InjectionPlan.InjectionPoint point : points) {
+            addDependency(dependencies, point);
         }
+    }
 
-        for (Method method : methods) {
-            Class<?> beanType = method.getReturnType();
-            Object beanInstance = method.invoke(classInstance);
-            String name = method.getAnnotation(Bean.class).value() != null ?
-                    method.getAnnotation(Bean.class).value() : beanType.getName();
-            beanContainer.putBean(beanType, beanInstance, name);
+    private void addDependency(Set<Class<?>> dependencies, InjectionPlan.InjectionPoint point) {
+        if (point.getKind() == InjectionPlan.InjectionPoint.Kind.PROVIDER) {
+            return;
+        }
+        if (point.isMultiple()) {
+            dependencies.addAll(getImplementationClasses(point.getType()));
+            return;
+        }
+        try {
+            dependencies.add(getImplementationClass(point.getType(), point.getName(), point.getQualifier()));
+        } catch (IoCException ignored) {
+            // Unresolvable dependencies are reported when the bean is created
+        }
+    }
+
+    /**
+     * Resolves the wiring of every package the way {@link #init} creates the beans, without creating any. Classes
+     * that are not components but get created because a bean depends on them are part of the plan as well.
+     */
+    private WiringPlan plan(Builder builder) throws IOException, URISyntaxException, ClassNotFoundException,
+            IoCBeanNotFound, IoCCircularDepException {
+        WiringPlan plan = new WiringPlan(builder.mainClass.getName(), builder.includes, builder.excludes);
+        Set<Class<?>> planned = new HashSet<>();
+        planned.add(KevaIoC.class);
+        implementationContainer.putImplementationClass(KevaIoC.class, KevaIoC.class);
+        registerPredefinedBeans(builder.beans);
+        if (builder.beans != null) {
+            for (Object bean : builder.beans) {
+                plan.addPredefinedClass(bean.getClass());
+                planned.add(bean.getClass());
+            }
+        }
+        for (String packageName : getPackages(builder.mainClass)) {
+            List<Class<?>> classes = discoverClasses(packageName);
+            plan.addPackage(packageName, classes);
+            registerImplementations(classes);
+            for (Class<?> configurationClass : orderConfigurations(classes, planned::contains)) {
+                plan.addGroup(Collections.singletonList(define(WiringPlan.Definition.Kind.CONFIGURATION,
+                        configurationClass, resolveDependencies(configurationClass))));
+                for (InjectionPlan.BeanMethod method : InjectionPlan.of(configurationClass).getBeanMethods()) {
+                    planned.add(method.getType());
+                }
+            }
+            planComponents(classes, planned, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Adds the eager components and everything they need to the plan, grouped by dependency cycle. Within a group
+     * a bean comes after the beans its constructor needs, a cycle through constructors only cannot be planned.
+     */
+    private void planComponents(List<Class<?>> classes, Set<Class<?>> planned, WiringPlan plan)
+            throws IoCCircularDepException {
+        Map<Class<?>, List<Class<?>>> dependencies = new LinkedHashMap<>();
+        Map<Class<?>, List<Class<?>>> collectionElements = new HashMap<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        for (Class<?> clazz : classes) {
+            if (clazz.isAnnotationPresent(Component.class) && !scopes.containsKey(clazz)) {
+                if (isLazy(clazz)) {
+                    lazyDefinitions.add(clazz);
+                } else {
+                    pending.add(clazz);
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            Class<?> clazz = pending.removeFirst();
+            if (planned.contains(clazz) || dependencies.containsKey(clazz)) {
+                continue;
+            }
+            List<Class<?>> resolved = resolveDependencies(clazz);
+            dependencies.put(clazz, resolved);
+            List<Class<?>> elements = new ArrayList<>();
+            for (InjectionPlan.InjectionPoint point : getInjectionPoints(clazz)) {
+                if (point.isMultiple()) {
+                    elements.addAll(getImplementationClasses(point.getType()));
+                }
+            }
+            collectionElements.put(clazz, elements);
+            for (Class<?> dependency : concat(resolved, elements)) {
+                if (dependency != null && !planned.contains(dependency) && !scopes.containsKey(dependency)
+                        && !lazyDefinitions.contains(dependency)) {
+                    pending.add(dependency);
+                }
+            }
+        }
+
+        DependencyGraph graph = new DependencyGraph();
+        for (Class<?> clazz : dependencies.keySet()) {
+            graph.addNode(clazz);
+        }
+        for (Map.Entry<Class<?>, List<Class<?>>> entry : dependencies.entrySet()) {
+            for (Class<?> dependency : concat(entry.getValue(), collectionElements.get(entry.getKey()))) {
+                if (dependency != null && graph.containsNode(dependency)) {
+                    graph.addEdge(entry.getKey(), dependency);
+                }
+            }
+        }
+        for (DependencyGraph.Group group : graph.getGroups()) {
+            DependencyGraph constructorGraph = new DependencyGraph();
+            for (Class<?> member : group.getMembers()) {
+                constructorGraph.addNode(member);
+            }
+            for (Class<?> member : group.getMembers()) {
+                List<Class<?>> resolved = dependencies.get(member);
+                for (int i = 0; i < InjectionPlan.of(member).getConstructorParameters().length; i++) {
+                    if (resolved.get(i) != null && constructorGraph.containsNode(resolved.get(i))) {
+                        constructorGraph.addEdge(member, resolved.get(i));
+                    }
+                }
+            }
+            List<WiringPlan.Definition> definitions = new ArrayList<>();
+            for (Class<?> member : constructorGraph.sort()) {
+                definitions.add(define(WiringPlan.Definition.Kind.COMPONENT, member, dependencies.get(member)));
+                planned.add(member);
+            }
+            plan.addGroup(definitions);
+        }
+    }
+
+    private static List<Class<?>> concat(List<Class<?>> first, List<Class<?>> second) {
+        List<Class<?>> all = new ArrayList<>(first.size() + second.size());
+        all.addAll(first);
+        all.addAll(second);
+        return all;
+    }
+
+    /**
+     * Returns the implementation class of each injection point of the class, {@code null} for providers, for
+     * optional dependencies without implementation and for collections, which are resolved again on replay.
+     */
+    private List<Class<?>> resolveDependencies(Class<?> clazz) {
+        List<Class<?>> dependencies = new ArrayList<>();
+        for (InjectionPlan.InjectionPoint point : getInjectionPoints(clazz)) {
+            switch (point.getKind()) {
+                case PROVIDER:
+                case LIST:
+                case ARRAY:
+                case MAP:
+                    dependencies.add(null);
+                    break;
+                case OPTIONAL:
+                    dependencies.add(findImplementationClass(point));
+                    break;
+                default:
+                    dependencies.add(getImplementationClass(point.getType(), point.getName(), point.getQualifier()));
+            }
+        }
+        return dependencies;
+    }
+
+    private static WiringPlan.Definition define(WiringPlan.Definition.Kind kind, Class<?> clazz,
+                                                List<Class<?>> dependencies) {
+        List<String> names = new ArrayList<>(dependencies.size());
+        for (Class<?> dependency : dependencies) {
+            names.add(dependency == null ? null : dependency.getName());
+        }
+        return new WiringPlan.Definition(kind, clazz.getName(), names);
+    }
+
+    private void replay(WiringPlan plan, Object[] predefinedBeans) throws IOException, ClassNotFoundException,
+            InstantiationException, IllegalAccessException, InvocationTargetException, NoSuchMethodException,
+            IoCBeanNotFound, IoCCircularDepException {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        plan.verify(classLoader);
+        registerPredefinedBeans(predefinedBeans);
+        Set<String> predefinedClasses = new HashSet<>();
+        if (predefinedBeans != null) {
+            for (Object bean : predefinedBeans) {
+                predefinedClasses.add(bean.getClass().getName());
+            }
+        }
+        for (String predefinedClass : plan.getPredefinedClasses()) {
+            if (!predefinedClasses.contains(predefinedClass)) {
+                throw new IoCException("Wiring plan expects a predefined bean of class " + predefinedClass);
+            }
+        }
+        beanContainer.putBean(KevaIoC.class, this);
+        implementationContainer.putImplementationClass(KevaIoC.class, KevaIoC.class);
+
+        Set<String> defined = new HashSet<>();
+        for (List<WiringPlan.Definition> group : plan.getGroups()) {
+            for (WiringPlan.Definition definition : group) {
+                defined.add(definition.getClassName());
+            }
+        }
+        ComponentIndex index = getComponentIndex();
+        for (Map.Entry<String, List<String>> entry : plan.getPackages().entrySet()) {
+            if (index != null && index.covers(entry.getKey()) && !new HashSet<>(entry.getValue())
+                    .equals(new HashSet<>(index.getClassNames(entry.getKey(), classNameFilter)))) {
+                throw new IoCException("Wiring plan does not match the classpath, the classes of package "
+                        + entry.getKey() + " have changed");
+            }
+            List<Class<?>> classes = ClassLoaderUtil.loadClasses(entry.getValue());
+            registerImplementations(classes);
+            for (Class<?> clazz : classes) {
+                if (clazz.isAnnotationPresent(Component.class) && !scopes.containsKey(clazz)
+                        && !defined.contains(clazz.getName())) {
+                    lazyDefinitions.add(clazz);
+                }
+            }
+        }
+
+        for (List<WiringPlan.Definition> group : plan.getGroups()) {
+            Set<Class<?>> pending = new HashSet<>();
+            for (WiringPlan.Definition definition : group) {
+                pending.add(Class.forName(definition.getClassName(), false, classLoader));
+            }
+            for (WiringPlan.Definition definition : group) {
+                replayDefinition(definition, pending, classLoader);
+            }
+            for (WiringPlan.Definition definition : group) {
+                if (definition.getKind() == WiringPlan.Definition.Kind.COMPONENT) {
+                    Class<?> clazz = Class.forName(definition.getClassName(), false, classLoader);
+                    LifecycleMethods.of(clazz).postConstruct(beanContainer.getBean(clazz));
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a bean of the plan. Injections of beans of the same group that are not constructed yet wait for
+     * them in {@link DeferredInjections}, as in a cycle at runtime. {@code @PostConstruct} methods run once the
+     * whole group is injected.
+     */
+    private void replayDefinition(WiringPlan.Definition definition, Set<Class<?>> pending, ClassLoader classLoader)
+            throws ClassNotFoundException, InstantiationException, IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
+        Class<?> clazz = Class.forName(definition.getClassName(), false, classLoader);
+        List<Class<?>> dependencies = new ArrayList<>(definition.getDependencies().size());
+        for (String dependency : definition.getDependencies()) {
+            dependencies.add(dependency == null ? null : Class.forName(dependency, false, classLoader));
+        }
+        InjectionPlan plan = InjectionPlan.of(clazz);
+        StartupReport.BeanTimer timer = startupReport.startBean(clazz);
+        Object event = ContainerEvents.INSTANCE.beginInstantiation();
+        try {
+            InjectionPlan.InjectionPoint[] parameters = plan.getConstructorParameters();
+            Object[] arguments = new Object[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                arguments[i] = replayDependency(parameters[i], dependencies.get(i));
+            }
+            Object instance = plan.newInstance(arguments);
+            timer.step(StartupReport.Step.CONSTRUCTOR);
+            pending.remove(clazz);
+            boolean configuration = definition.getKind() == WiringPlan.Definition.Kind.CONFIGURATION;
+            if (!configuration) {
+                beanContainer.putBean(clazz, instance);
+                deferredInjections.resolve(clazz, instance);
+            }
+
+            int index = parameters.length;
+            for (InjectionPlan.FieldInjection field : plan.getFields()) {
+                InjectionPlan.InjectionPoint point = field.getPoint();
+                Class<?> dependency = dependencies.get(index++);
+                if (pending.contains(dependency)) {
+                    deferredInjections.defer(dependency, bean -> field.set(instance,
+                            point.getKind() == InjectionPlan.InjectionPoint.Kind.OPTIONAL ? Optional.of(bean) : bean));
+                } else {
+                    field.set(instance, replayDependency(point, dependency));
+                }
+            }
+            timer.step(StartupReport.Step.FIELD_INJECTION);
+            if (configuration) {
+                invokeBeanMethods(plan, instance);
+            } else {
+                for (InjectionPlan.MethodInjection method : plan.getSetters()) {
+                    InjectionPlan.InjectionPoint[] points = method.getParameters();
+                    List<Class<?>> methodDependencies = dependencies.subList(index, index + points.length);
+                    index += points.length;
+                    Class<?> waitFor = null;
+                    for (Class<?> dependency : methodDependencies) {
+                        if (waitFor == null && pending.contains(dependency)) {
+                            waitFor = dependency;
+                        }
+                    }
+                    if (waitFor != null) {
+                        deferredInjections.defer(waitFor, bean -> method.invoke(instance,
+                                replayDependencies(points, methodDependencies)));
+                    } else {
+                        method.invoke(instance, replayDependencies(points, methodDependencies));
+                    }
+                }
+                timer.step(StartupReport.Step.SETTER_INJECTION);
+            }
+            ContainerEvents.INSTANCE.endInstantiation(event, clazz);
+        } finally {
+            timer.finish();
+        }
+    }
+
+    private Object[] replayDependencies(InjectionPlan.InjectionPoint[] points, List<Class<?>> dependencies)
+            throws InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException,
+            IoCBeanNotFound, IoCCircularDepException {
+        Object[] beans = new Object[points.length];
+        for (int i = 0; i < points.length; i++) {
+            beans[i] = replayDependency(points[i], dependencies.get(i));
+        }
+        return beans;
+    }
+
+    /**
+     * Returns the value of an injection point from the implementation class the plan chose for it. Collections
+     * are collected from the container, the plan creates their beans first.
+     */
+    private Object replayDependency(InjectionPlan.InjectionPoint point, Class<?> dependency) throws
+            InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException,
+            IoCBeanNotFound, IoCCircularDepException {
+        switch (point.getKind()) {
+            case PROVIDER:
+                return new ContainerProvider<>(point);
+            case LIST:
+            case ARRAY:
+            case MAP:
+                return resolveBeans(point, true);
+            case OPTIONAL:
+                return dependency == null ? Optional.empty() : Optional.of(getPlannedBean(point, dependency));
+            default:
+                return getPlannedBean(point, dependency);
+        }
+    }
+
+    private Object getPlannedBean(InjectionPlan.InjectionPoint point, Class<?> dependency) throws
+            InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException,
+            IoCBeanNotFound, IoCCircularDepException {
+        if (lazyDefinitions.contains(dependency) && point.getType().isInterface()) {
+            return LazyProxy.create(point.getType(), () -> getBean(dependency));
+        }
+        return _getBean(dependency, point.getName(), point.getQualifier(), true);
+    }
+
+    private void scanConfigurationBeans(Class<?> clazz, Object classInstance, StartupReport.BeanTimer timer)
+            throws InvocationTargetException, IllegalAccessException, InstantiationException, NoSuchMethodException,
+            IoCBeanNotFound, IoCCircularDepException {
+        InjectionPlan plan = InjectionPlan.of(clazz);
+        for (InjectionPlan.FieldInjection field : plan.getFields()) {
+            field.set(classInstance, resolve(field.getPoint(), false));
+        }
+        timer.step(StartupReport.Step.FIELD_INJECTION);
+        invokeBeanMethods(plan, classInstance);
+    }
+
+    private void invokeBeanMethods(InjectionPlan plan, Object classInstance) throws InvocationTargetException {
+        for (InjectionPlan.BeanMethod method : plan.getBeanMethods()) {
+            if (method.isAsync()) {
+                startAsyncBean(method, classInstance);
+                continue;
+            }
+            StartupReport.BeanTimer beanTimer = startupReport.startBean(method.getType());
+            try {
+                beanContainer.putBean(method.getType(), method.invoke(classInstance), method.getName());
+                beanTimer.step(StartupReport.Step.BEAN_METHOD);
+            } finally {
+                beanTimer.finish();
+            }
+        }
+    }
+
+    /**
+     * Starts an asynchronous {@code @Bean} method: an {@code @AsyncInit} one runs on the startup executor, one
+     * returning a {@code CompletionStage} is called right away. The bean is registered when it is ready.
+     */
+    @SuppressWarnings("unchecked")
+    private void startAsyncBean(InjectionPlan.BeanMethod method, Object configuration)
+            throws InvocationTargetException {
+        CompletableFuture<Object> result;
+        if (method.isAsyncInit()) {
+            result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return invokeBeanMethod(method, configuration);
+                } catch (InvocationTargetException e) {
+                    throw new CompletionException(e.getCause());
+                }
+            }, getStartupExecutor());
+        } else {
+            result = CompletableFuture.completedFuture(invokeBeanMethod(method, configuration));
+        }
+        if (method.isFuture()) {
+            result = result.thenCompose(stage -> (CompletionStage<Object>) stage);
+        }
+        asyncBeans.add(method.getType(), result.thenApply(bean -> {
+            beanContainer.putBean(method.getType(), bean, method.getName());
+            return bean;
+        }));
+    }
+
+    private Object invokeBeanMethod(InjectionPlan.BeanMethod method, Object configuration)
+            throws InvocationTargetException {
+        StartupReport.BeanTimer beanTimer = startupReport.startBean(method.getType());
+        try {
+            Object result = method.invoke(configuration);
+            beanTimer.step(StartupReport.Step.BEAN_METHOD);
+            return result;
+        } finally {
+            beanTimer.finish();
+        }
+    }
+
+    private Executor getStartupExecutor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Waits for the asynchronous {@code @Bean} methods still running at the end of the startup.
+     */
+    private void awaitAsyncBeans() {
+        try {
+            asyncBeans.all().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof IoCException ? (IoCException) e.getCause() : new IoCException(e.getCause());
+        }
+    }
+
+    /**
+     * Ends the startup: compacts the registries, which only change for beans created later such as lazy ones,
+     * and stops the startup report.
+     */
+    private void complete() {
+        beanContainer.freeze();
+        implementationContainer.freeze();
+        startupReport.complete();
+    }
+
+    /**
+     * Lets the tasks of a startup executor created by the container finish and releases its threads.
+     */
+    private void shutdownStartupExecutor() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private void start(Class<?> mainClass, Object[] predefinedBeans) {
+        try {
+            initWrapper(mainClass, predefinedBeans);
+        } catch (IOException | ClassNotFoundException | InstantiationException | IllegalAccessException |
+                InvocationTargetException | NoSuchMethodException | IoCBeanNotFound | IoCCircularDepException | URISyntaxException e) {
+            throw new IoCException(e);
         }
     }
 
     private Object newInstanceWrapper(Class<?> clazz) throws InvocationTargetException,
             IllegalAccessException, InstantiationException, NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
-        circularDependencyDetector.startInstantiation(clazz);
+        if (beanContainer.containsBean(clazz)) {
+            return beanContainer.getBean(clazz);
+        }
+        Object earlyInstance = creationLatches.getEarlyInstance(clazz);
+        if (earlyInstance != null) {
+            return earlyInstance;
+        }
 
+        circularDependencyDetector.startInstantiation(clazz);
         try {
-            if (beanContainer.containsBean(clazz)) {
-                return beanContainer.getBean(clazz);
+            CreationLatches.Latch latch = creationLatches.acquire(clazz);
+            if (!latch.isHeldByCurrentThread()) {
+                return latch.getInstance();
             }
+            boolean completed = false;
+            try {
+                Object instance;
+                if (beanContainer.containsBean(clazz)) {
+                    instance = beanContainer.getBean(clazz);
+                } else {
+                    instance = createBean(clazz, latch);
+                    beanContainer.putBean(clazz, instance);
+                }
+                creationLatches.complete(latch, instance);
+                completed = true;
+                return instance;
+            } finally {
+                if (!completed) {
+                    creationLatches.abandon(latch);
+                }
+            }
+        } finally {
+            circularDependencyDetector.finishInstantiation(clazz);
+        }
+    }
 
-            Object instance = newInstance(clazz);
-            beanContainer.putBean(clazz, instance);
-            fieldInject(clazz, instance);
-            setterInject(clazz, instance);
+    /**
+     * Constructs and injects the bean. It becomes visible to other threads only once fully injected, the creating
+     * thread reaches it earlier through the latch to resolve field and setter cycles. Scoped beans have no latch.
+     */
+    private Object createBean(Class<?> clazz, CreationLatches.Latch latch) throws InvocationTargetException,
+            IllegalAccessException, InstantiationException, NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
+        StartupReport.BeanTimer timer = startupReport.startBean(clazz);
+        Object event = ContainerEvents.INSTANCE.beginInstantiation();
+        try {
+            BeanFactory<Object> factory = getBeanFactory(clazz);
+            Object instance = factory != null ? factory.newInstance(creatingResolver) : newInstance(clazz);
+            timer.step(StartupReport.Step.CONSTRUCTOR);
+            if (latch != null) {
+                latch.expose(instance);
+            }
+            deferredInjections.resolve(clazz, instance);
+            if (factory != null) {
+                factory.injectMembers(instance, creatingResolver);
+                timer.step(StartupReport.Step.FIELD_INJECTION);
+            } else {
+                fieldInject(clazz, instance);
+                timer.step(StartupReport.Step.FIELD_INJECTION);
+                setterInject(clazz, instance);
+                timer.step(StartupReport.Step.SETTER_INJECTION);
+            }
+            LifecycleMethods.of(clazz).postConstruct(instance);
+            timer.step(StartupReport.Step.POST_CONSTRUCT);
+            ContainerEvents.INSTANCE.endInstantiation(event, clazz);
             return instance;
+        } finally {
+            timer.finish();
+        }
+    }
+
+    /**
+     * Creates a new instance of a prototype or pooled bean, which is never registered in the container.
+     */
+    private Object newScopedInstance(Class<?> clazz) throws InvocationTargetException, IllegalAccessException,
+            InstantiationException, NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
+        circularDependencyDetector.startInstantiation(clazz);
+        try {
+            return createBean(clazz, null);
         } finally {
             circularDependencyDetector.finishInstantiation(clazz);
         }
     }
 
+    /**
+     * Returns the generated factory of the class when it was compiled in codegen mode, otherwise {@code null}
+     * and the class is wired through reflection. Factories are stateless and created once per class.
+     */
+    @SuppressWarnings("unchecked")
+    private BeanFactory<Object> getBeanFactory(Class<?> clazz) {
+        if (componentIndex == null || !componentIndex.hasFactory(clazz.getName())) {
+            return null;
+        }
+        return (BeanFactory<Object>) BEAN_FACTORIES.get(clazz);
+    }
+
     private Object newInstance(Class<?> clazz) throws IllegalAccessException,
             InstantiationException, InvocationTargetException, NoSuchMethodException,
             IoCBeanNotFound, IoCCircularDepException {
-        Constructor<?> annotatedConstructor = FinderUtil.findAnnotatedConstructor(clazz);
-        Object instance;
-        if (annotatedConstructor == null) {
-            try {
-                Constructor<?> defaultConstructor = clazz.getConstructor();
-                defaultConstructor.setAccessible(true);
-                instance = clazz.newInstance();
-                return instance;
-            } catch (NoSuchMethodException e) {
-                throw new IoCException("There is no default constructor in class " + clazz.getName());
-            }
-        } else {
-            Object[] parameters = new Object[annotatedConstructor.getParameterCount()];
-            for (int i = 0; i < parameters.length; i++) {
-                String qualifier = annotatedConstructor.getParameters()[i].isAnnotationPresent(Qualifier.class) ?
-                        annotatedConstructor.getParameters()[i].getAnnotation(Qualifier.class).value() : null;
-                Object depInstance = _getBean(annotatedConstructor.getParameterTypes()[i],
-                        annotatedConstructor.getParameterTypes()[i].getName(), qualifier, true);
-                parameters[i] = depInstance;
-            }
-            instance = annotatedConstructor.newInstance(parameters);
+        InjectionPlan plan = InjectionPlan.of(clazz);
+        return plan.newInstance(resolveAll(plan.getConstructorParameters()));
+    }
+
+    private Object[] resolveAll(InjectionPlan.InjectionPoint[] points) throws IllegalAccessException,
+            InstantiationException, InvocationTargetException, NoSuchMethodException,
+            IoCBeanNotFound, IoCCircularDepException {
+        Object[] beans = new Object[points.length];
+        for (int i = 0; i < points.length; i++) {
+            beans[i] = resolve(points[i], true);
         }
-        return instance;
+        return beans;
     }
 
     private void setterInject(Class<?> clazz, Object classInstance) throws IllegalAccessException,
             InvocationTargetException, NoSuchMethodException, InstantiationException, IoCBeanNotFound, IoCCircularDepException {
-        Set<Method> methods = FinderUtil.findMethods(clazz, Autowired.class);
-        for (Method method : methods) {
-            Object[] parameters = new Object[method.getParameterCount()];
-            for (int i = 0; i < parameters.length; i++) {
-                String qualifier = method.getParameters()[i].isAnnotationPresent(Qualifier.class) ?
-                        method.getParameters()[i].getAnnotation(Qualifier.class).value() : null;
-                Object instance = _getBean(method.getParameterTypes()[i],
-                        method.getParameterTypes()[i].getName(), qualifier, true);
-                parameters[i] = instance;
+        for (InjectionPlan.MethodInjection method : InjectionPlan.of(clazz).getSetters()) {
+            Class<?> pending = findPendingDependency(method.getParameters());
+            if (pending != null) {
+                deferredInjections.defer(pending, bean -> method.invoke(classInstance, resolveAll(method.getParameters())));
+            } else {
+                method.invoke(classInstance, resolveAll(method.getParameters()));
             }
-            method.invoke(classInstance, parameters);
         }
     }
 
+    /**
+     * A field or setter may point back at a bean whose constructor is still running higher up the stack.
+     * Such an injection cannot be satisfied yet, so it is deferred until that bean has been constructed.
+     */
+    private Class<?> findPendingDependency(InjectionPlan.InjectionPoint[] points) {
+        for (InjectionPlan.InjectionPoint point : points) {
+            Class<?> pending = findPendingDependency(point);
+            if (pending != null) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Providers never need the bean right away, optional dependencies only when a bean is registered and
+     * collections as soon as one of their beans is pending.
+     */
+    private Class<?> findPendingDependency(InjectionPlan.InjectionPoint point) {
+        switch (point.getKind()) {
+            case PROVIDER:
+                return null;
+            case OPTIONAL:
+                Class<?> implementationClass = findImplementationClass(point);
+                return implementationClass == null ? null :
+                        findPendingDependency(implementationClass, point.getName(), point.getQualifier());
+            case LIST:
+            case ARRAY:
+            case MAP:
+                for (Class<?> element : getImplementationClasses(point.getType())) {
+                    if (isPending(element)) {
+                        return element;
+                    }
+                }
+                return null;
+            default:
+                return findPendingDependency(point.getType(), point.getName(), point.getQualifier());
+        }
+    }
+
+    private Class<?> findPendingDependency(Class<?> type, String fieldName, String qualifier) {
+        Class<?> implementationClass = getImplementationClass(type, fieldName, qualifier);
+        return isPending(implementationClass) ? implementationClass : null;
+    }
+
+    private boolean isPending(Class<?> implementationClass) {
+        return circularDependencyDetector.isInstantiating(implementationClass)
+                && creationLatches.getEarlyInstance(implementationClass) == null;
+    }
+
     private void fieldInject(Class<?> clazz, Object classInstance) throws IllegalAccessException,
             InstantiationException, InvocationTargetException, NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
-        Set<Field> fields = FinderUtil.findFields(clazz, Autowired.class);
-        for (Field field : fields) {
-            String qualifier = field.isAnnotationPresent(Qualifier.class) ? field.getAnnotation(Qualifier.class).value() : null;
-            Object fieldInstance = _getBean(field.getType(), field.getName(), qualifier, true);
-            field.set(classInstance, fieldInstance);
+        for (InjectionPlan.FieldInjection field : InjectionPlan.of(clazz).getFields()) {
+            InjectionPlan.InjectionPoint point = field.getPoint();
+            Class<?> pending = findPendingDependency(point);
+            if (pending != null) {
+                deferredInjections.defer(pending, bean -> field.set(classInstance, point.isMultiple() ?
+                        resolve(point, true) :
+                        point.getKind() == InjectionPlan.InjectionPoint.Kind.OPTIONAL ? Optional.of(bean) : bean));
+                continue;
+            }
+            field.set(classInstance, resolve(point, true));
+        }
+    }
+
+    /**
+     * Interfaces and abstract classes are resolved to their registered implementation, concrete classes are
+     * their own implementation. A child resolves the types it has no bean for in its parent.
+     */
+    private Class<?> getImplementationClass(Class<?> type, String fieldName, String qualifier) {
+        if (parent != null && !implementationContainer.contains(type)) {
+            return parent.getImplementationClass(type, fieldName, qualifier);
+        }
+        boolean isAbstract = type.isInterface()
+                || (!type.isPrimitive() && !type.isArray() && Modifier.isAbstract(type.getModifiers()));
+        return isAbstract ? implementationContainer.getImplementationClass(type, fieldName, qualifier) : type;
+    }
+
+    /**
+     * Returns the value of an injection point: the bean itself, a provider of it, the bean wrapped in an
+     * {@link Optional} that is empty when no implementation is registered, or all beans of the type.
+     */
+    private Object resolve(InjectionPlan.InjectionPoint point, boolean createIfNotFound) throws InstantiationException,
+            IllegalAccessException, NoSuchMethodException, InvocationTargetException, IoCBeanNotFound,
+            IoCCircularDepException {
+        switch (point.getKind()) {
+            case PROVIDER:
+                return new ContainerProvider<>(point);
+            case OPTIONAL:
+                Class<?> implementationClass = findImplementationClass(point);
+                return implementationClass == null ? Optional.empty() :
+                        Optional.of(_getBean(implementationClass, point.getName(), point.getQualifier(), createIfNotFound));
+            case LIST:
+            case ARRAY:
+            case MAP:
+                return resolveBeans(point, createIfNotFound);
+            default:
+                return _getBean(point.getType(), point.getName(), point.getQualifier(), createIfNotFound);
+        }
+    }
+
+    /**
+     * Collects every bean of the element type into an array built once for the injection point. Lists are
+     * unmodifiable views of the array and maps are keyed by bean name, the name of a component being its simple
+     * class name starting in lower case. There is one entry per {@code @Bean} of a type produced under several
+     * names. Lazy components are injected as proxies when the element type is an interface.
+     */
+    private Object resolveBeans(InjectionPlan.InjectionPoint point, boolean createIfNotFound) throws
+            InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException,
+            IoCBeanNotFound, IoCCircularDepException {
+        Class<?> type = point.getType();
+        List<String> names = new ArrayList<>();
+        List<Object> beans = new ArrayList<>();
+        for (Class<?> implementationClass : getImplementationClasses(type)) {
+            if (createIfNotFound && type.isInterface() && lazyDefinitions.contains(implementationClass)) {
+                names.add(getBeanName(implementationClass));
+                beans.add(LazyProxy.create(type, () -> getBean(implementationClass)));
+                continue;
+            }
+            Map<String, Object> named = getNamedBeans(implementationClass);
+            if (named == null) {
+                Object bean = _getBean(implementationClass, null, null, createIfNotFound);
+                named = getNamedBeans(implementationClass);
+                if (named == null) {
+                    names.add(getBeanName(implementationClass));
+                    beans.add(bean);
+                    continue;
+                }
+            }
+            for (Map.Entry<String, Object> entry : named.entrySet()) {
+                names.add(entry.getKey().equals(implementationClass.getName()) ?
+                        getBeanName(implementationClass) : entry.getKey());
+                beans.add(entry.getValue());
+            }
+        }
+        Object[] array = beans.toArray((Object[]) Array.newInstance(type, beans.size()));
+        switch (point.getKind()) {
+            case ARRAY:
+                return array;
+            case LIST:
+                return Collections.unmodifiableList(Arrays.asList(array));
+            default:
+                Map<String, Object> map = new LinkedHashMap<>(array.length * 2);
+                for (int i = 0; i < array.length; i++) {
+                    if (map.put(names.get(i), array[i]) != null) {
+                        throw new IoCException("There are several beans named " + names.get(i)
+                                + " of type " + type.getName());
+                    }
+                }
+                return Collections.unmodifiableMap(map);
+        }
+    }
+
+    /**
+     * Returns the implementations of the type in {@code @Order}, then by class name. A child adds the parent's
+     * implementations it does not override.
+     */
+    private List<Class<?>> getImplementationClasses(Class<?> type) {
+        List<Class<?>> implementationClasses = new ArrayList<>(implementationContainer.getImplementationClasses(type));
+        if (parent != null) {
+            for (Class<?> implementationClass : parent.getImplementationClasses(type)) {
+                if (!implementationClasses.contains(implementationClass)) {
+                    implementationClasses.add(implementationClass);
+                }
+            }
+        }
+        implementationClasses.sort(Comparator.<Class<?>>comparingInt(KevaIoC::getOrder).thenComparing(Class::getName));
+        return implementationClasses;
+    }
+
+    private static int getOrder(Class<?> clazz) {
+        Order order = clazz.getAnnotation(Order.class);
+        return order != null ? order.value() : Integer.MAX_VALUE;
+    }
+
+    private static String getBeanName(Class<?> clazz) {
+        String name = clazz.getSimpleName();
+        return name.isEmpty() ? clazz.getName() : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private Map<String, Object> getNamedBeans(Class<?> implementationClass) {
+        Map<String, Object> named = beanContainer.getBeans(implementationClass);
+        return named != null || parent == null ? named : parent.getNamedBeans(implementationClass);
+    }
+
+    private Class<?> findImplementationClass(InjectionPlan.InjectionPoint point) {
+        if (parent != null && !implementationContainer.contains(point.getType())) {
+            return parent.findImplementationClass(point);
+        }
+        try {
+            return implementationContainer.getImplementationClass(point.getType(), point.getName(), point.getQualifier());
+        } catch (IoCException e) {
+            return null;
         }
     }
 
+    /**
+     * Whether the class is a bean, or registered to become one, in this container or one of its ancestors.
+     */
+    private boolean isManaged(Class<?> clazz) {
+        return beanContainer.containsBean(clazz) || implementationContainer.contains(clazz)
+                || (parent != null && parent.isManaged(clazz));
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T _getBean(Class<T> interfaceClass) throws InstantiationException, IllegalAccessException,
             InvocationTargetException, NoSuchMethodException, IoCBeanNotFound, IoCCircularDepException {
+        Class<?> implementationClass = getImplementationClass(interfaceClass, null, null);
+        if (isPooled(implementationClass)) {
+            return (T) getPool(implementationClass).borrow();
+        }
         return (T) _getBean(interfaceClass, null, null, false);
     }
 
     private <T> Object _getBean(Class<T> interfaceClass, String fieldName, String qualifier, boolean createIfNotFound) throws
             InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException,
             IoCBeanNotFound, IoCCircularDepException {
-        Class<?> implementationClass = interfaceClass.isInterface() ?
-                implementationContainer.getImplementationClass(interfaceClass, fieldName, qualifier) : interfaceClass;
+        Class<?> implementationClass = getImplementationClass(interfaceClass, fieldName, qualifier);
+        ContainerEvents.INSTANCE.resolved(interfaceClass, qualifier, implementationClass);
+        if (!beanContainer.containsBean(implementationClass)) {
+            asyncBeans.await(implementationClass);
+        }
         if (beanContainer.containsBean(implementationClass)) {
             if (qualifier != null) {
                 return beanContainer.getBean(implementationClass, qualifier);
             }
             return beanContainer.getBean(implementationClass);
         }
-        if (createIfNotFound) {
-            synchronized (beanContainer) {
-                return newInstanceWrapper(implementationClass);
+        if (parent != null && !implementationContainer.contains(implementationClass) && parent.isManaged(implementationClass)) {
+            return parent._getBean(interfaceClass, fieldName, qualifier, createIfNotFound);
+        }
+        String scope = scopes.get(implementationClass);
+        if (scope != null) {
+            if (Scope.POOLED.equals(scope)) {
+                // A bean held by a field is never released, enough injection points would drain the pool for good
+                throw new IoCException("Pooled bean " + implementationClass.getName() + " cannot be injected, inject "
+                        + "Provider<" + interfaceClass.getSimpleName() + "> or borrow it with getBean instead");
+            }
+            return newScopedInstance(implementationClass);
+        }
+        if (lazyDefinitions.contains(implementationClass)) {
+            if (createIfNotFound && interfaceClass.isInterface()) {
+                return LazyProxy.create(interfaceClass, () -> getBean(implementationClass));
             }
+            return newInstanceWrapper(implementationClass);
+        }
+        if (createIfNotFound) {
+            return newInstanceWrapper(implementationClass);
         } else {
-            throw new IoCBeanNotFound("Cannot found bean for " + interfaceClass.getName());
+            String message = "Cannot found bean for " + interfaceClass.getName();
+            ContainerEvents.INSTANCE.beanNotFound(interfaceClass, message);
+            throw new IoCBeanNotFound(message);
+        }
+    }
+
+    /**
+     * Resolves the implementation class once, when the provider is injected, and caches singletons after the
+     * first lookup. Implementations registered by a later scanned package are resolved on first use instead.
+     */
+    private class ContainerProvider<T> implements Provider<T> {
+        private final InjectionPlan.InjectionPoint point;
+        private final Class<?> implementationClass;
+        private volatile T instance;
+
+        private ContainerProvider(InjectionPlan.InjectionPoint point) {
+            this.point = point;
+            this.implementationClass = findImplementationClass(point);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get() {
+            T bean = instance;
+            if (bean != null) {
+                return bean;
+            }
+            Class<?> target = implementationClass != null ? implementationClass :
+                    getImplementationClass(point.getType(), point.getName(), point.getQualifier());
+            if (isPooled(target)) {
+                return (T) getPool(target).borrow();
+            }
+            try {
+                bean = (T) _getBean(target, point.getName(), point.getQualifier(), true);
+            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException |
+                    InvocationTargetException | IoCBeanNotFound | IoCCircularDepException e) {
+                throw new IoCException(e);
+            }
+            if (!scopes.containsKey(target)) {
+                instance = bean;
+            }
+            return bean;
+        }
+    }
+
+    private class ContainerResolver implements BeanResolver {
+        private final boolean createIfNotFound;
+
+        private ContainerResolver(boolean createIfNotFound) {
+            this.createIfNotFound = createIfNotFound;
+        }
+
+        @Override
+        public Object resolve(Class<?> type, String name, String qualifier) throws IoCBeanNotFound, IoCCircularDepException {
+            try {
+                return _getBean(type, name, qualifier, createIfNotFound);
+            } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
+                throw new IoCException(e);
+            }
+        }
+
+        @Override
+        public void inject(Class<?>[] types, String[] names, String[] qualifiers, Injection injection)
+                throws IoCBeanNotFound, IoCCircularDepException {
+            if (createIfNotFound) {
+                for (int i = 0; i < types.length; i++) {
+                    Class<?> pending = findPendingDependency(types[i], names[i], qualifiers[i]);
+                    if (pending != null) {
+                        deferredInjections.defer(pending, bean -> injection.inject(resolveAll(types, names, qualifiers)));
+                        return;
+                    }
+                }
+            }
+            injection.inject(resolveAll(types, names, qualifiers));
+        }
+
+        private Object[] resolveAll(Class<?>[] types, String[] names, String[] qualifiers)
+                throws IoCBeanNotFound, IoCCircularDepException {
+            Object[] beans = new Object[types.length];
+            for (int i = 0; i < types.length; i++) {
+                beans[i] = resolve(types[i], names[i], qualifiers[i]);
+            }
+            return beans;
+        }
+    }
+
+    public static final class Builder {
+        private final Class<?> mainClass;
+        private Object[] beans = new Object[0];
+        private Executor executor;
+        private int platformThreads;
+        private boolean lazy;
+        private String[] includes = new String[0];
+        private String[] excludes = new String[0];
+        private Path scanCacheDirectory;
+
+        private Builder(Class<?> mainClass) {
+            this.mainClass = mainClass;
+        }
+
+        /**
+         * Mounts existing beans into the container.
+         */
+        public Builder beans(Object... beans) {
+            this.beans = beans;
+            return this;
+        }
+
+        /**
+         * Only picks up scanned classes matching one of the patterns, see {@link ClassNameFilter}.
+         */
+        public Builder include(String... patterns) {
+            this.includes = patterns;
+            return this;
+        }
+
+        /**
+         * Ignores scanned classes matching one of the patterns, see {@link ClassNameFilter}.
+         */
+        public Builder exclude(String... patterns) {
+            this.excludes = patterns;
+            return this;
+        }
+
+        /**
+         * Keeps the results of classpath scans in the directory and reuses them while the scanned jars and
+         * class directories are unchanged. Packages covered by a compile-time index are never scanned.
+         */
+        public Builder scanCache(Path directory) {
+            this.scanCacheDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Only registers the scanned components, each one is created when first requested through
+         * {@link #getBean(Class)} or an injection point. Interface-typed injection points receive a proxy
+         * until the bean is first used.
+         */
+        public Builder lazy() {
+            this.lazy = true;
+            return this;
+        }
+
+        /**
+         * Creates independent components concurrently on the common {@link ForkJoinPool}.
+         */
+        public Builder parallel() {
+            return parallel(ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Creates independent components concurrently on the given executor.
+         */
+        public Builder parallel(Executor executor) {
+            this.executor = executor;
+            this.platformThreads = 0;
+            return this;
+        }
+
+        /**
+         * Creates independent components concurrently, and runs {@code @AsyncInit} methods, on virtual threads.
+         * Before Java 21 a pool of four platform threads per processor is used instead. Components are still
+         * created after the beans they depend on. The executor is shut down once the container is built.
+         */
+        public Builder virtualThreads() {
+            return virtualThreads(Runtime.getRuntime().availableProcessors() * 4);
+        }
+
+        /**
+         * Like {@link #virtualThreads()}, with at most {@code maxPlatformThreads} threads before Java 21.
+         */
+        public Builder virtualThreads(int maxPlatformThreads) {
+            if (maxPlatformThreads < 1) {
+                throw new IllegalArgumentException("Thread count must be positive: " + maxPlatformThreads);
+            }
+            this.executor = null;
+            this.platformThreads = maxPlatformThreads;
+            return this;
+        }
+
+        /**
+         * Resolves the wiring of the container without creating any bean. The plan is replayed by
+         * {@link KevaIoC#fromPlan(WiringPlan, Object...)} with the same predefined beans.
+         */
+        public WiringPlan plan() {
+            KevaIoC instance = new KevaIoC(this);
+            try {
+                return instance.plan(this);
+            } catch (IOException | ClassNotFoundException | IoCBeanNotFound | IoCCircularDepException |
+                    URISyntaxException e) {
+                throw new IoCException(e);
+            } finally {
+                instance.shutdownStartupExecutor();
+            }
+        }
+
+        public KevaIoC build() {
+            KevaIoC instance = new KevaIoC(this);
+            try {
+                instance.start(mainClass, beans);
+                instance.awaitAsyncBeans();
+                instance.complete();
+                return instance;
+            } finally {
+                instance.shutdownStartupExecutor();
+            }
+        }
+
+        /**
+         * Builds the container on the common {@link ForkJoinPool}, components are still created on the startup
+         * executor given to {@link #parallel(Executor)} or created by {@link #virtualThreads()}. The startup waits
+         * for them, so it never occupies a thread of that executor. The stage completes once asynchronous
+         * {@code @Bean} methods are done, exceptionally with an {@link IoCException} when the container cannot be
+         * built.
+         */
+        public CompletionStage<KevaIoC> buildAsync() {
+            KevaIoC instance = new KevaIoC(this);
+            return CompletableFuture.runAsync(() -> instance.start(mainClass, beans), ForkJoinPool.commonPool())
+                    .thenCompose(ignored -> instance.asyncBeans.all())
+                    .whenComplete((ignored, e) -> instance.shutdownStartupExecutor())
+                    .thenApply(ignored -> {
+                        instance.complete();
+                        return instance;
+                    });
         }
     }
 }
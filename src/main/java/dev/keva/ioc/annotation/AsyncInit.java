@@ -0,0 +1,15 @@
+package dev.keva.ioc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a blocking {@code @Bean} method on the startup executor instead of the startup thread. The bean is
+ * registered once the method returns, beans needing it wait for it and the others are created meanwhile.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AsyncInit {
+}
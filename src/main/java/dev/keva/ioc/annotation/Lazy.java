@@ -0,0 +1,16 @@
+package dev.keva.ioc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Creates the component on first use instead of at startup. {@code @Lazy(false)} keeps a component eager when
+ * the container runs in lazy mode.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Lazy {
+    boolean value() default true;
+}
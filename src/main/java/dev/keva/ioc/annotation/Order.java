@@ -0,0 +1,16 @@
+package dev.keva.ioc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Position of a component in the {@code List}, array and {@code Map} injection points receiving every bean of a
+ * type. Lower values come first, components without {@code @Order} come last. Ties are ordered by class name.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Order {
+    int value();
+}
@@ -0,0 +1,16 @@
+package dev.keva.ioc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method without parameters that {@code KevaIoC.close()} calls to destroy a singleton, instead of
+ * {@code close()} when the bean is {@link AutoCloseable}. Methods of a subclass run before the ones of its
+ * superclasses.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface PreDestroy {
+}
@@ -0,0 +1,27 @@
+package dev.keva.ioc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lifecycle of a component. Singletons (the default) are created once, {@code prototype} components are created
+ * for every lookup and injection point, {@code pooled} components are borrowed from a bounded pool of at most
+ * {@link #poolSize()} instances, see {@link dev.keva.ioc.core.BeanPool}. Pooled components are borrowed through
+ * {@code getBean} or an injected {@code Provider}, never injected directly.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Scope {
+    String SINGLETON = "singleton";
+    String PROTOTYPE = "prototype";
+    String POOLED = "pooled";
+
+    String value() default SINGLETON;
+
+    /**
+     * Maximum number of instances of a pooled component, the number of available processors when not set.
+     */
+    int poolSize() default 0;
+}
@@ -0,0 +1,76 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Beans of asynchronous {@code @Bean} methods that are still being initialized. Each future completes once
+ * its bean is registered in the {@link BeanContainer}, lookups of a pending type wait for the futures of that
+ * type only.
+ */
+public class AsyncBeans {
+    private final Map<Class<?>, List<CompletableFuture<?>>> pending = new ConcurrentHashMap<>();
+
+    public void add(Class<?> type, CompletableFuture<?> future) {
+        pending.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(future);
+    }
+
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Blocks until every bean of the type is registered, fails when one of them could not be created.
+     */
+    public void await(Class<?> type) {
+        List<CompletableFuture<?>> futures = pending.get(type);
+        if (futures == null) {
+            return;
+        }
+        for (CompletableFuture<?> future : futures) {
+            join(type, future);
+        }
+    }
+
+    /**
+     * Returns a future completing once all pending beans are registered, exceptionally with an
+     * {@link IoCException} when one of them fails.
+     */
+    public CompletableFuture<Void> all() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<CompletableFuture<?>>> entry : pending.entrySet()) {
+            for (CompletableFuture<?> future : entry.getValue()) {
+                futures.add(future.handle((bean, e) -> {
+                    if (e != null) {
+                        throw failure(entry.getKey(), e);
+                    }
+                    return bean;
+                }));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static void join(Class<?> type, CompletableFuture<?> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            throw failure(type, e);
+        }
+    }
+
+    private static IoCException failure(Class<?> type, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof IoCException) {
+            return (IoCException) cause;
+        }
+        return new IoCException("Asynchronous initialization of bean " + type.getName() + " failed", cause);
+    }
+}
@@ -2,20 +2,114 @@ package dev.keva.ioc.core;
 
 import dev.keva.ioc.exception.IoCException;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Holds fully initialized beans. Reads never lock: each class maps to its bean, or to an immutable
+ * {@link NamedBeans} when it has several beans or one registered under another name, replaced as a whole on the
+ * rare write.
+ * <p>
+ * {@link #freeze()} moves the beans registered so far into a {@link ClassTable} at the end of the startup, the
+ * map only keeps the beans created later, such as lazy ones. Writing to a frozen class thaws the table first.
+ * Readers see the table and the map of one {@link Store}, swapped as a whole. Writes share a read lock that
+ * freezing and thawing take exclusively, so no write is lost to a swap.
+ */
 public class BeanContainer {
-    public final Map<Class<?>, Map<String, Object>> beans = new HashMap<>(10);
+    private volatile Store store = new Store(ClassTable.empty(), new Class<?>[0]);
+    private final Queue<Class<?>> registrationOrder = new ConcurrentLinkedQueue<>();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
 
     public void putBean(Class<?> clazz, Object instance) {
         putBean(clazz, instance, clazz.getName());
     }
 
     public void putBean(Class<?> clazz, Object instance, String name) {
-        Map<String, Object> map = beans.computeIfAbsent(clazz, k -> new TreeMap<>());
-        map.putIfAbsent(name, instance);
+        while (true) {
+            swapLock.readLock().lock();
+            try {
+                Store current = store;
+                if (!current.frozen.containsKey(clazz)) {
+                    current.beans.compute(clazz, (k, value) -> {
+                        if (value == null) {
+                            registrationOrder.add(clazz);
+                            return name.equals(clazz.getName()) ? instance : new NamedBeans(name, instance);
+                        }
+                        NamedBeans named = NamedBeans.of(clazz, value);
+                        return named.indexOf(name) >= 0 ? value : named.with(name, instance);
+                    });
+                    return;
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            thaw();
+        }
+    }
+
+    /**
+     * Compacts the registered beans into arrays. Later registrations go to a fresh map.
+     */
+    public void freeze() {
+        swapLock.writeLock().lock();
+        try {
+            Map<Class<?>, Object> all = new HashMap<>(store.beans);
+            store.frozen.forEach(all::put);
+            List<Class<?>> order = getClasses();
+            store = new Store(ClassTable.of(all), order.toArray(new Class<?>[0]));
+            registrationOrder.clear();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isFrozen() {
+        return store.frozen.size() > 0;
+    }
+
+    /**
+     * Moves the frozen beans back to the map, they stay visible to readers throughout.
+     */
+    private void thaw() {
+        swapLock.writeLock().lock();
+        try {
+            Store current = store;
+            if (current.frozen.size() == 0) {
+                return;
+            }
+            Store thawed = new Store(ClassTable.empty(), current.frozenOrder);
+            thawed.beans.putAll(current.beans);
+            current.frozen.forEach(thawed.beans::putIfAbsent);
+            store = thawed;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private Object lookup(Class<?> clazz) {
+        Store current = store;
+        Object value = current.frozen.get(clazz);
+        return value != null ? value : current.beans.get(clazz);
+    }
+
+    /**
+     * Returns the classes holding beans in the order their first bean was registered.
+     */
+    public List<Class<?>> getClasses() {
+        List<Class<?>> classes = new ArrayList<>(Arrays.asList(store.frozenOrder));
+        classes.addAll(registrationOrder);
+        return classes;
+    }
+
+    /**
+     * Returns the beans of the class by name, sorted by name, or {@code null} when the class has no bean.
+     */
+    public Map<String, Object> getBeans(Class<?> clazz) {
+        Object value = lookup(clazz);
+        return value == null ? null : NamedBeans.of(clazz, value).toMap();
     }
 
     public boolean containsBean(Class<?> clazz) {
@@ -23,7 +117,7 @@ public class BeanContainer {
     }
 
     public boolean containsBean(Class<?> clazz, String name) {
-        return beans.get(clazz) != null;
+        return lookup(clazz) != null;
     }
 
     public Object getBean(Class<?> clazz) {
@@ -31,25 +125,123 @@ public class BeanContainer {
     }
 
     public Object getBean(Class<?> clazz, String name) {
-        Map<String, Object> map = beans.get(clazz);
+        Object value = lookup(clazz);
 
-        if (map == null || map.size() == 0) {
+        if (value == null) {
             throw new IoCException("No bean found for class " + clazz);
         }
 
-        if (map.size() == 1) {
-            return map.values().iterator().next();
+        if (!(value instanceof NamedBeans)) {
+            return value;
+        }
+
+        NamedBeans named = (NamedBeans) value;
+        if (named.names.length == 1) {
+            return named.beans[0];
         }
 
-        Object bean = map.get(name);
-        if (bean == null) {
-            String errorMessage = "There are " + map.size()
+        int index = named.indexOf(name);
+        if (index < 0) {
+            String errorMessage = "There are " + named.names.length
                     + " of bean " + name
                     + " Expected single implementation or make use of"
                     + " @Qualifier to resolve conflict";
             throw new IoCException(errorMessage);
         }
 
-        return bean;
+        return named.beans[index];
+    }
+
+    public int size() {
+        Store current = store;
+        return current.frozen.size() + current.beans.size();
+    }
+
+    /**
+     * Estimates the heap held by the container, the beans themselves excluded.
+     */
+    public long estimateBytes() {
+        Store current = store;
+        long[] bytes = {Footprint.object(3, 0) + Footprint.object(3, 0) + current.frozen.estimateBytes()
+                + Footprint.array(current.frozenOrder.length) + Footprint.hashMap(current.beans.size(), 16)
+                + Footprint.linkedQueue(registrationOrder.size())};
+        current.frozen.forEach((clazz, value) -> bytes[0] += NamedBeans.estimateBytes(value));
+        for (Object value : current.beans.values()) {
+            bytes[0] += NamedBeans.estimateBytes(value);
+        }
+        return bytes[0];
+    }
+
+    /**
+     * The frozen beans, the classes registered until the last freeze in registration order, and the map of the
+     * beans that are not frozen.
+     */
+    private static final class Store {
+        private final ClassTable<Object> frozen;
+        private final Class<?>[] frozenOrder;
+        private final Map<Class<?>, Object> beans = new ConcurrentHashMap<>(16);
+
+        private Store(ClassTable<Object> frozen, Class<?>[] frozenOrder) {
+            this.frozen = frozen;
+            this.frozenOrder = frozenOrder;
+        }
+    }
+
+    /**
+     * The beans of a class that has several, or one registered under a name other than the class name, in two
+     * arrays sorted by name.
+     */
+    private static final class NamedBeans {
+        private final String[] names;
+        private final Object[] beans;
+
+        private NamedBeans(String name, Object bean) {
+            this(new String[]{name}, new Object[]{bean});
+        }
+
+        private NamedBeans(String[] names, Object[] beans) {
+            this.names = names;
+            this.beans = beans;
+        }
+
+        private static NamedBeans of(Class<?> clazz, Object value) {
+            return value instanceof NamedBeans ? (NamedBeans) value : new NamedBeans(clazz.getName(), value);
+        }
+
+        private int indexOf(String name) {
+            return Arrays.binarySearch(names, name);
+        }
+
+        private NamedBeans with(String name, Object bean) {
+            int insertion = -indexOf(name) - 1;
+            String[] newNames = new String[names.length + 1];
+            Object[] newBeans = new Object[beans.length + 1];
+            System.arraycopy(names, 0, newNames, 0, insertion);
+            System.arraycopy(beans, 0, newBeans, 0, insertion);
+            newNames[insertion] = name;
+            newBeans[insertion] = bean;
+            System.arraycopy(names, insertion, newNames, insertion + 1, names.length - insertion);
+            System.arraycopy(beans, insertion, newBeans, insertion + 1, beans.length - insertion);
+            return new NamedBeans(newNames, newBeans);
+        }
+
+        private Map<String, Object> toMap() {
+            if (names.length == 1) {
+                return Collections.singletonMap(names[0], beans[0]);
+            }
+            Map<String, Object> map = new LinkedHashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                map.put(names[i], beans[i]);
+            }
+            return Collections.unmodifiableMap(map);
+        }
+
+        private static long estimateBytes(Object value) {
+            if (!(value instanceof NamedBeans)) {
+                return 0;
+            }
+            NamedBeans named = (NamedBeans) value;
+            return Footprint.object(2, 0) + 2 * Footprint.array(named.names.length);
+        }
     }
 }
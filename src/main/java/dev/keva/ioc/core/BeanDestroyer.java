@@ -0,0 +1,216 @@
+package dev.keva.ioc.core;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Destroys the beans of a container in reverse dependency order: a bean is destroyed once every bean depending
+ * on it is, beans independent of each other are destroyed in parallel. Beans in a cycle are destroyed together,
+ * the last registered first. Every destruction is given the bean timeout and abandoned after it, beans not
+ * reached before the overall deadline are skipped and the ones still running then are reported as timed out. A
+ * failing bean does not hold back its dependencies.
+ */
+public class BeanDestroyer {
+    private static final String THREAD_PREFIX = "keva-shutdown-";
+
+    private final DependencyGraph graph = new DependencyGraph();
+    private final Map<Class<?>, List<Disposal>> disposals = new HashMap<>();
+
+    /**
+     * Adds a class holding beans. Classes without disposable bean only carry the order between their dependents
+     * and their dependencies.
+     */
+    public void addClass(Class<?> clazz) {
+        graph.addNode(clazz);
+    }
+
+    public void addBean(Class<?> clazz, String name, Object bean, Destruction destruction) {
+        graph.addNode(clazz);
+        disposals.computeIfAbsent(clazz, k -> new ArrayList<>()).add(new Disposal(clazz, name, bean, destruction));
+    }
+
+    /**
+     * Records that {@code clazz} uses {@code dependency}, which is destroyed after it. Ignored unless both
+     * classes were added.
+     */
+    public void addDependency(Class<?> clazz, Class<?> dependency) {
+        if (graph.containsNode(clazz) && graph.containsNode(dependency)) {
+            graph.addEdge(clazz, dependency);
+        }
+    }
+
+    public ShutdownReport destroy(long beanTimeoutNanos, long deadlineNanos) {
+        return new Shutdown(beanTimeoutNanos, deadlineNanos).run();
+    }
+
+    public interface Destruction {
+        void destroy(Object bean) throws Exception;
+    }
+
+    private static final class Disposal {
+        private final Class<?> type;
+        private final String name;
+        private final Object bean;
+        private final Destruction destruction;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final AtomicBoolean reported = new AtomicBoolean();
+        private volatile long startNanos;
+
+        private Disposal(Class<?> type, String name, Object bean, Destruction destruction) {
+            this.type = type;
+            this.name = name;
+            this.bean = bean;
+            this.destruction = destruction;
+        }
+    }
+
+    private final class Shutdown {
+        private final long startNanos = System.nanoTime();
+        private final long beanTimeoutNanos;
+        private final long deadline;
+        private final List<DependencyGraph.Group> groups = graph.getGroups();
+        private final Map<DependencyGraph.Group, AtomicInteger> dependents = new HashMap<>();
+        private final CountDownLatch remaining = new CountDownLatch(groups.size());
+        private final Queue<ShutdownReport.BeanShutdown> results = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean skipped = new AtomicBoolean();
+        private final ExecutorService executor;
+
+        private Shutdown(long beanTimeoutNanos, long deadlineNanos) {
+            this.beanTimeoutNanos = beanTimeoutNanos;
+            this.deadline = startNanos + deadlineNanos;
+            AtomicInteger count = new AtomicInteger();
+            this.executor = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, THREAD_PREFIX + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private ShutdownReport run() {
+            for (DependencyGraph.Group group : groups) {
+                dependents.put(group, new AtomicInteger());
+            }
+            for (DependencyGraph.Group group : groups) {
+                for (DependencyGraph.Group dependency : group.getDependencies()) {
+                    dependents.get(dependency).incrementAndGet();
+                }
+            }
+            List<DependencyGraph.Group> roots = new ArrayList<>();
+            for (DependencyGraph.Group group : groups) {
+                if (dependents.get(group).get() == 0) {
+                    roots.add(group);
+                }
+            }
+            for (DependencyGraph.Group root : roots) {
+                schedule(root);
+            }
+            boolean completed;
+            try {
+                completed = remaining.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                completed = false;
+            }
+            if (completed) {
+                executor.shutdown();
+            } else {
+                for (List<Disposal> classDisposals : disposals.values()) {
+                    for (Disposal disposal : classDisposals) {
+                        if (disposal.claimed.compareAndSet(false, true)) {
+                            record(disposal, ShutdownReport.Status.SKIPPED, 0, null);
+                            continue;
+                        }
+                        long start = disposal.startNanos;
+                        if (start == 0) {
+                            // Claimed past the deadline, its worker skips it as well
+                            record(disposal, ShutdownReport.Status.SKIPPED, 0, null);
+                        } else {
+                            // Still running at the deadline, unless its worker reported it first
+                            record(disposal, ShutdownReport.Status.TIMED_OUT, System.nanoTime() - start, null);
+                        }
+                    }
+                }
+                executor.shutdownNow();
+            }
+            return new ShutdownReport(new ArrayList<>(results), System.nanoTime() - startNanos,
+                    !completed || skipped.get());
+        }
+
+        private void destroyGroup(DependencyGraph.Group group) {
+            List<Class<?>> members = new ArrayList<>(group.getMembers());
+            Collections.reverse(members);
+            for (Class<?> member : members) {
+                List<Disposal> classDisposals = new ArrayList<>(disposals.getOrDefault(member,
+                        Collections.emptyList()));
+                Collections.reverse(classDisposals);
+                for (Disposal disposal : classDisposals) {
+                    destroy(disposal);
+                }
+            }
+            for (DependencyGraph.Group dependency : group.getDependencies()) {
+                if (dependents.get(dependency).decrementAndGet() == 0) {
+                    schedule(dependency);
+                }
+            }
+            remaining.countDown();
+        }
+
+        private void schedule(DependencyGraph.Group group) {
+            try {
+                executor.execute(() -> destroyGroup(group));
+            } catch (RejectedExecutionException e) {
+                // The deadline passed, the beans of the group are reported as skipped
+            }
+        }
+
+        private void destroy(Disposal disposal) {
+            long start = System.nanoTime();
+            long timeout = Math.min(beanTimeoutNanos, deadline - start);
+            if (timeout > 0) {
+                // Published before the claim, a sweep that loses the claim knows the destruction goes ahead
+                disposal.startNanos = start;
+            }
+            if (!disposal.claimed.compareAndSet(false, true)) {
+                return;
+            }
+            if (timeout <= 0) {
+                record(disposal, ShutdownReport.Status.SKIPPED, 0, null);
+                return;
+            }
+            Future<?> future;
+            try {
+                future = executor.submit(() -> {
+                    disposal.destruction.destroy(disposal.bean);
+                    return null;
+                });
+            } catch (RejectedExecutionException e) {
+                record(disposal, ShutdownReport.Status.SKIPPED, 0, null);
+                return;
+            }
+            try {
+                future.get(timeout, TimeUnit.NANOSECONDS);
+                record(disposal, ShutdownReport.Status.CLOSED, System.nanoTime() - start, null);
+            } catch (ExecutionException e) {
+                record(disposal, ShutdownReport.Status.FAILED, System.nanoTime() - start, e.getCause());
+            } catch (TimeoutException | InterruptedException e) {
+                future.cancel(true);
+                record(disposal, ShutdownReport.Status.TIMED_OUT, System.nanoTime() - start, null);
+            }
+        }
+
+        private void record(Disposal disposal, ShutdownReport.Status status, long nanos, Throwable failure) {
+            // Under the lock, a bean reported by its worker is in the results once the deadline sweep skips it
+            synchronized (results) {
+                if (!disposal.reported.compareAndSet(false, true)) {
+                    return;
+                }
+                if (status == ShutdownReport.Status.SKIPPED) {
+                    skipped.set(true);
+                }
+                results.add(new ShutdownReport.BeanShutdown(disposal.type, disposal.name, status, nanos, failure));
+            }
+        }
+    }
+}
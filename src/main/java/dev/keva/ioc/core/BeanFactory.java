@@ -0,0 +1,20 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCBeanNotFound;
+import dev.keva.ioc.exception.IoCCircularDepException;
+
+/**
+ * Reflection-free creation of a bean, generated next to the bean class when the annotation processor
+ * runs with {@code -Akeva.ioc.codegen=true}.
+ */
+public interface BeanFactory<T> {
+    String SUFFIX = "_KevaFactory";
+
+    T newInstance(BeanResolver resolver) throws IoCBeanNotFound, IoCCircularDepException;
+
+    void injectMembers(T instance, BeanResolver resolver) throws IoCBeanNotFound, IoCCircularDepException;
+
+    static String getFactoryName(String className) {
+        return className + SUFFIX;
+    }
+}
@@ -0,0 +1,63 @@
+package dev.keva.ioc.core;
+
+import java.util.function.Supplier;
+
+/**
+ * Handle on a bean resolved once by {@code KevaIoC.getBeanKey}. The implementation class is chosen when the key
+ * is created, {@link #get()} then reads the singleton from its slot in the container's {@link BeanSlots}: a field
+ * and an array load, no hashing and no allocation. Until the singleton exists, e.g. for a lazy component, the
+ * first {@code get()} goes through the container and fills the slot. Keys of prototype and pooled components
+ * never fill their slot and look the bean up on every call.
+ */
+public final class BeanKey<T> {
+    private final Class<T> type;
+    private final Class<?> implementationClass;
+    private final BeanSlots slots;
+    private final int slot;
+    private final boolean singleton;
+    private final Supplier<T> lookup;
+
+    public BeanKey(Class<T> type, Class<?> implementationClass, BeanSlots slots, boolean singleton,
+                   Supplier<T> lookup) {
+        this.type = type;
+        this.implementationClass = implementationClass;
+        this.slots = slots;
+        this.slot = slots.getSlot(implementationClass);
+        this.singleton = singleton;
+        this.lookup = lookup;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object bean = slots.beans[slot];
+        if (bean != null) {
+            return (T) bean;
+        }
+        return resolve();
+    }
+
+    private T resolve() {
+        T bean = lookup.get();
+        if (singleton) {
+            slots.fill(slot, bean);
+        }
+        return bean;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public Class<?> getImplementationClass() {
+        return implementationClass;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanKey[" + type.getName() + " -> " + implementationClass.getName() + " @" + slot + "]";
+    }
+}
@@ -0,0 +1,12 @@
+package dev.keva.ioc.core;
+
+/**
+ * Generated for each {@code @Bean} method of a {@code @Configuration} class in codegen mode.
+ */
+public interface BeanMethodFactory<T> {
+    Class<?> getType();
+
+    String getName();
+
+    Object create(T configuration);
+}
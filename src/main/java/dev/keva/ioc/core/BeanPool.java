@@ -0,0 +1,142 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of instances of a {@code pooled} component. At most {@code maxSize} instances are ever created,
+ * {@link #borrow()} blocks while all of them are borrowed. Free instances are kept in striped free-lists, a thread
+ * returns to and borrows from its own stripe first, so threads rarely touch the same list. Every instance carries a
+ * borrowed flag, so releasing an instance twice or one the pool never handed out fails instead of corrupting it.
+ */
+public class BeanPool<T> {
+    private final Supplier<T> factory;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final Queue<Slot<T>>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public BeanPool(Supplier<T> factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize);
+        this.slots = new AtomicReferenceArray<>(maxSize);
+        int stripeCount = Integer.highestOneBit(Math.min(maxSize, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.stripes = (Queue<Slot<T>>[]) new Queue<?>[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    /**
+     * Returns a free instance, creating one while fewer than the maximum exist, otherwise waits for a
+     * {@link #release(Object) release}.
+     */
+    public T borrow() {
+        permits.acquireUninterruptibly();
+        try {
+            int home = stripe();
+            while (true) {
+                for (int i = 0; i < stripes.length; i++) {
+                    Slot<T> slot = stripes[(home + i) & mask].poll();
+                    if (slot != null) {
+                        slot.borrowed.set(true);
+                        return slot.instance;
+                    }
+                }
+                int count = created.get();
+                if (count < maxSize && created.compareAndSet(count, count + 1)) {
+                    T instance;
+                    try {
+                        instance = factory.get();
+                    } catch (RuntimeException | Error e) {
+                        created.decrementAndGet();
+                        throw e;
+                    }
+                    register(new Slot<>(instance));
+                    return instance;
+                }
+                // Every instance exists, one is being returned by a thread that still holds its permit
+                Thread.yield();
+            }
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed instance to the pool. Each borrowed instance must be released exactly once, an instance
+     * that is not borrowed from this pool is rejected.
+     */
+    public void release(T instance) {
+        Slot<T> slot = find(instance);
+        if (slot == null) {
+            throw new IoCException("Instance of " + instance.getClass().getName() + " was not borrowed from its pool");
+        }
+        if (!slot.borrowed.compareAndSet(true, false)) {
+            throw new IoCException("Instance of " + instance.getClass().getName() + " is released twice");
+        }
+        stripes[stripe()].offer(slot);
+        permits.release();
+    }
+
+    /**
+     * Stores the slot of a new instance in the first free entry, there is one for each instance ever created.
+     */
+    private void register(Slot<T> slot) {
+        for (int i = 0; ; i = (i + 1) % maxSize) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, slot)) {
+                return;
+            }
+        }
+    }
+
+    private Slot<T> find(T instance) {
+        for (int i = 0; i < maxSize; i++) {
+            Slot<T> slot = slots.get(i);
+            if (slot != null && slot.instance == instance) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Returns the number of instances created so far, borrowed or free.
+     */
+    public int getCreated() {
+        return created.get();
+    }
+
+    private int stripe() {
+        return (int) Thread.currentThread().getId() & mask;
+    }
+
+    private static final class Slot<T> {
+        private final T instance;
+        private final AtomicBoolean borrowed = new AtomicBoolean(true);
+
+        private Slot(T instance) {
+            this.instance = instance;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCBeanNotFound;
+import dev.keva.ioc.exception.IoCCircularDepException;
+
+/**
+ * Dependency lookups available to generated factories.
+ */
+public interface BeanResolver {
+    Object resolve(Class<?> type, String name, String qualifier) throws IoCBeanNotFound, IoCCircularDepException;
+
+    /**
+     * Resolves the dependencies and hands them to the injection, possibly later when one of them is a bean
+     * whose constructor is still running.
+     */
+    void inject(Class<?>[] types, String[] names, String[] qualifiers, Injection injection)
+            throws IoCBeanNotFound, IoCCircularDepException;
+
+    interface Injection {
+        void inject(Object[] beans);
+    }
+}
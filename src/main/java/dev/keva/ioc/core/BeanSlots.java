@@ -0,0 +1,62 @@
+package dev.keva.ioc.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Array-backed registry of the singletons reached through {@link BeanKey} handles. Every implementation class
+ * gets a slot the first time a key is resolved for it, the slot is filled once the singleton exists. Slots are
+ * never reused or cleared, so a slot number stays valid for the lifetime of the container.
+ */
+public class BeanSlots {
+    private final Map<Class<?>, Integer> slots = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    volatile Object[] beans = new Object[16];
+
+    /**
+     * Returns the slot of the implementation class, assigning the next free one on first use.
+     */
+    public int getSlot(Class<?> implementationClass) {
+        Integer slot = slots.get(implementationClass);
+        if (slot != null) {
+            return slot;
+        }
+        lock.lock();
+        try {
+            return slots.computeIfAbsent(implementationClass, k -> {
+                int next = slots.size();
+                if (next == beans.length) {
+                    beans = Arrays.copyOf(beans, next * 2);
+                }
+                return next;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the singleton of the slot. Growing the array and filling a slot lock the registry, so a fill
+     * is never lost to a concurrent copy.
+     */
+    public void fill(int slot, Object bean) {
+        lock.lock();
+        try {
+            Object[] current = beans;
+            current[slot] = bean;
+            beans = current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Object get(int slot) {
+        return beans[slot];
+    }
+
+    public int size() {
+        return slots.size();
+    }
+}
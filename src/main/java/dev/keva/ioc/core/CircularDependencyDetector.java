@@ -4,17 +4,43 @@ import dev.keva.ioc.exception.IoCCircularDepException;
 
 import java.util.*;
 
+/**
+ * Tracks the classes being instantiated by the current thread, so that concurrent resolutions of unrelated
+ * beans never see each other as a cycle.
+ */
 public class CircularDependencyDetector {
-    private final Set<Class<?>> instantiationInProgress = new HashSet<>();
+    private final ThreadLocal<Set<Class<?>>> instantiationInProgress = ThreadLocal.withInitial(LinkedHashSet::new);
 
     public void startInstantiation(Class<?> clazz) throws IoCCircularDepException {
-        if (instantiationInProgress.contains(clazz)) {
-            throw new IoCCircularDepException("Circular dependency detected while instantiating " + clazz.getName());
+        Set<Class<?>> inProgress = instantiationInProgress.get();
+        if (inProgress.contains(clazz)) {
+            throw new IoCCircularDepException("Circular dependency detected while instantiating " + clazz.getName()
+                    + ": " + describeCycle(inProgress, clazz));
         }
-        instantiationInProgress.add(clazz);
+        inProgress.add(clazz);
+    }
+
+    public boolean isInstantiating(Class<?> clazz) {
+        return instantiationInProgress.get().contains(clazz);
     }
 
     public void finishInstantiation(Class<?> clazz) {
-        instantiationInProgress.remove(clazz);
+        Set<Class<?>> inProgress = instantiationInProgress.get();
+        inProgress.remove(clazz);
+        if (inProgress.isEmpty()) {
+            instantiationInProgress.remove();
+        }
+    }
+
+    private static String describeCycle(Set<Class<?>> inProgress, Class<?> clazz) {
+        StringBuilder cycle = new StringBuilder();
+        boolean inCycle = false;
+        for (Class<?> current : inProgress) {
+            inCycle |= current == clazz;
+            if (inCycle) {
+                cycle.append(current.getSimpleName()).append(" -> ");
+            }
+        }
+        return cycle.append(clazz.getSimpleName()).toString();
     }
 }
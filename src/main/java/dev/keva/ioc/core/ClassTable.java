@@ -0,0 +1,89 @@
+package dev.keva.ioc.core;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable map from classes to values, stored in two parallel arrays with open addressing and linear probing.
+ * Classes hash by identity and the table is at most three quarters full, so a lookup reads a few adjacent slots
+ * and allocates nothing. There is no entry object per mapping, registries copy themselves here in
+ * {@code freeze()} once they stop changing.
+ */
+final class ClassTable<V> {
+    private static final ClassTable<?> EMPTY = new ClassTable<>(new Class<?>[1], new Object[1], 0);
+
+    private final Class<?>[] keys;
+    private final Object[] values;
+    private final int size;
+
+    private ClassTable(Class<?>[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> ClassTable<V> empty() {
+        return (ClassTable<V>) EMPTY;
+    }
+
+    static <V> ClassTable<V> of(Map<Class<?>, V> map) {
+        if (map.isEmpty()) {
+            return empty();
+        }
+        int capacity = Integer.highestOneBit(map.size() * 4 / 3) << 1;
+        Class<?>[] keys = new Class<?>[capacity];
+        Object[] values = new Object[capacity];
+        for (Map.Entry<Class<?>, V> entry : map.entrySet()) {
+            int index = indexOf(keys, entry.getKey());
+            keys[index] = entry.getKey();
+            values[index] = entry.getValue();
+        }
+        return new ClassTable<>(keys, values, map.size());
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot where it belongs.
+     */
+    private static int indexOf(Class<?>[] keys, Class<?> key) {
+        int mask = keys.length - 1;
+        int hash = key.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (keys[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Class<?> key) {
+        if (size == 0) {
+            return null;
+        }
+        return (V) values[indexOf(keys, key)];
+    }
+
+    boolean containsKey(Class<?> key) {
+        return size > 0 && keys[indexOf(keys, key)] == key;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<Class<?>, V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated size of the two arrays, the table object and its keys and values excluded.
+     */
+    long estimateBytes() {
+        return size == 0 ? 0 : 2 * Footprint.array(keys.length);
+    }
+}
@@ -0,0 +1,156 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.jfr.ContainerEvents;
+import dev.keva.ioc.utils.ClassNameFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compile-time list of container classes, written by {@code ComponentIndexProcessor}.
+ * Every jar or output directory on the classpath may carry its own index, all of them are merged. A package is
+ * only covered when every classpath root holding it carries an index, classes compiled without the processor
+ * would be missed otherwise.
+ */
+public class ComponentIndex {
+    public static final String LOCATION = "META-INF/keva/components.idx";
+    public static final String IGNORE_PROPERTY = "keva.ioc.index.ignore";
+    public static final String COMPONENT = "component";
+    public static final String CONFIGURATION = "configuration";
+    public static final String FACTORY = "factory";
+
+    private final Set<String> classNames = new LinkedHashSet<>();
+    private final Set<String> factoryNames = new HashSet<>();
+    private final Set<String> roots = new HashSet<>();
+    private final ClassLoader classLoader;
+
+    private ComponentIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the merged index of the class loader, or {@code null} when no index is present or
+     * the {@value #IGNORE_PROPERTY} system property is set.
+     */
+    public static ComponentIndex load(ClassLoader classLoader) throws IOException {
+        if (Boolean.getBoolean(IGNORE_PROPERTY)) {
+            return null;
+        }
+        Enumeration<URL> resources = classLoader.getResources(LOCATION);
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+        ComponentIndex index = new ComponentIndex(classLoader);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            index.roots.add(getRoot(resource, LOCATION));
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    index.parseLine(line.trim());
+                }
+            }
+        }
+        return index;
+    }
+
+    private void parseLine(String line) {
+        if (line.isEmpty() || line.startsWith("#")) {
+            return;
+        }
+        int separator = line.indexOf(' ');
+        if (separator < 0) {
+            return;
+        }
+        String kind = line.substring(0, separator);
+        if (COMPONENT.equals(kind) || CONFIGURATION.equals(kind)) {
+            classNames.add(line.substring(separator + 1).trim());
+        } else if (FACTORY.equals(kind)) {
+            factoryNames.add(line.substring(separator + 1).trim());
+        }
+    }
+
+    /**
+     * Whether a generated {@code BeanFactory} exists for the class.
+     */
+    public boolean hasFactory(String className) {
+        return factoryNames.contains(className);
+    }
+
+    /**
+     * Whether the package has indexed classes and every classpath root holding it carries an index. Otherwise the
+     * package has to be scanned.
+     */
+    public boolean covers(String packageName) throws IOException {
+        boolean indexed = false;
+        for (String className : classNames) {
+            if (isInPackage(className, packageName)) {
+                indexed = true;
+                break;
+            }
+        }
+        if (!indexed) {
+            return false;
+        }
+        String path = packageName.replace('.', '/');
+        Enumeration<URL> resources = classLoader.getResources(path);
+        while (resources.hasMoreElements()) {
+            if (!roots.contains(getRoot(resources.nextElement(), path))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the URL of the jar or directory holding the resource, ending with a slash.
+     */
+    private static String getRoot(URL resource, String path) {
+        String url = resource.toString();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (!path.isEmpty() && url.endsWith(path)) {
+            url = url.substring(0, url.length() - path.length());
+        }
+        return url.endsWith("/") ? url : url + "/";
+    }
+
+    public List<Class<?>> getClasses(String packageName, ClassLoader classLoader) throws ClassNotFoundException {
+        return getClasses(packageName, ClassNameFilter.ALL, classLoader);
+    }
+
+    /**
+     * Loads the indexed classes of the package and its sub-packages accepted by the filter, without
+     * initializing them.
+     */
+    public List<Class<?>> getClasses(String packageName, ClassNameFilter filter, ClassLoader classLoader)
+            throws ClassNotFoundException {
+        Object event = ContainerEvents.INSTANCE.beginScan();
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : getClassNames(packageName, filter)) {
+            classes.add(Class.forName(className, false, classLoader));
+        }
+        ContainerEvents.INSTANCE.endScan(event, packageName, "index", classes.size(), 0);
+        return classes;
+    }
+
+    public List<String> getClassNames(String packageName, ClassNameFilter filter) {
+        List<String> names = new ArrayList<>();
+        for (String className : classNames) {
+            if (isInPackage(className, packageName) && filter.matches(className)) {
+                names.add(className);
+            }
+        }
+        return names;
+    }
+
+    private static boolean isInPackage(String className, String packageName) {
+        return packageName.isEmpty() || className.startsWith(packageName + ".");
+    }
+}
@@ -0,0 +1,7 @@
+package dev.keva.ioc.core;
+
+import java.util.List;
+
+public interface ConfigurationFactory<T> extends BeanFactory<T> {
+    List<BeanMethodFactory<T>> getBeanMethods();
+}
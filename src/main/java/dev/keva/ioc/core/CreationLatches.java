@@ -0,0 +1,127 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCCircularDepException;
+import dev.keva.ioc.exception.IoCException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-bean once-latches: the first thread to acquire the latch of a class creates the bean, later threads wait
+ * for that creation only, so unrelated beans never block each other.
+ * <p>
+ * Waits are registered in a wait-for table. When waiting would close a cycle between threads, the waiter
+ * receives the early reference of the bean instead, as it would inside a single thread, or fails with
+ * {@link IoCCircularDepException} when the bean has not been constructed yet.
+ */
+public class CreationLatches {
+    private final Map<Class<?>, Latch> latches = new ConcurrentHashMap<>();
+    private final Map<Thread, Latch> waiting = new ConcurrentHashMap<>();
+    private final ReentrantLock waitLock = new ReentrantLock();
+
+    /**
+     * Returns the bean the current thread is creating for the class, once its constructor has returned.
+     */
+    public Object getEarlyInstance(Class<?> clazz) {
+        Latch latch = latches.get(clazz);
+        return latch != null && latch.owner == Thread.currentThread() ? latch.instance : null;
+    }
+
+    /**
+     * Returns a latch held by the current thread when it has to create the bean, otherwise blocks until the
+     * other creator is done and returns its latch.
+     */
+    public Latch acquire(Class<?> clazz) throws IoCCircularDepException {
+        Thread current = Thread.currentThread();
+        while (true) {
+            Latch latch = latches.computeIfAbsent(clazz, k -> new Latch(k, current));
+            if (latch.owner == current) {
+                return latch;
+            }
+            waitLock.lock();
+            try {
+                if (isDeadlock(latch, current)) {
+                    if (latch.instance == null) {
+                        throw new IoCCircularDepException("Circular dependency detected between threads while instantiating "
+                                + clazz.getName());
+                    }
+                    return latch;
+                }
+                waiting.put(current, latch);
+            } finally {
+                waitLock.unlock();
+            }
+            try {
+                latch.done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IoCException("Interrupted while waiting for bean " + clazz.getName());
+            } finally {
+                waiting.remove(current);
+            }
+            if (latch.completed) {
+                return latch;
+            }
+        }
+    }
+
+    public void complete(Latch latch, Object instance) {
+        latch.instance = instance;
+        latch.completed = true;
+        release(latch);
+    }
+
+    public void abandon(Latch latch) {
+        latch.instance = null;
+        release(latch);
+    }
+
+    private void release(Latch latch) {
+        latches.remove(latch.clazz, latch);
+        latch.done.countDown();
+    }
+
+    private boolean isDeadlock(Latch latch, Thread current) {
+        Latch next = latch;
+        for (int i = 0; next != null && i <= waiting.size(); i++) {
+            if (next.done.getCount() == 0) {
+                return false;
+            }
+            if (next.owner == current) {
+                return true;
+            }
+            next = waiting.get(next.owner);
+        }
+        return false;
+    }
+
+    public static final class Latch {
+        private final Class<?> clazz;
+        private final Thread owner;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Object instance;
+        private volatile boolean completed;
+
+        private Latch(Class<?> clazz, Thread owner) {
+            this.clazz = clazz;
+            this.owner = owner;
+        }
+
+        public boolean isHeldByCurrentThread() {
+            return owner == Thread.currentThread() && done.getCount() > 0;
+        }
+
+        /**
+         * Publishes the constructed but not yet injected bean to the creating thread.
+         */
+        public void expose(Object instance) {
+            this.instance = instance;
+        }
+
+        public Object getInstance() {
+            return instance;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package dev.keva.ioc.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Longest chain of dependent bean creations of a parallel startup, it bounds how fast the startup can get.
+ */
+public class CriticalPath {
+    private final List<Class<?>> beans;
+    private final long nanos;
+
+    public CriticalPath(List<Class<?>> beans, long nanos) {
+        this.beans = Collections.unmodifiableList(beans);
+        this.nanos = nanos;
+    }
+
+    public List<Class<?>> getBeans() {
+        return beans;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Appends the critical path of a phase that ran after this one.
+     */
+    public CriticalPath then(CriticalPath next) {
+        List<Class<?>> path = new ArrayList<>(beans);
+        path.addAll(next.beans);
+        return new CriticalPath(path, nanos + next.nanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Class<?> bean : beans) {
+            if (builder.length() > 0) {
+                builder.append(" -> ");
+            }
+            builder.append(bean.getSimpleName());
+        }
+        return builder.append(" (").append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms)").toString();
+    }
+}
@@ -0,0 +1,36 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCBeanNotFound;
+import dev.keva.ioc.exception.IoCCircularDepException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Injections waiting for a bean whose constructor is running. Both the deferral and its resolution happen on
+ * the thread creating that bean.
+ */
+public class DeferredInjections {
+    private final Map<Class<?>, List<Injection>> pending = new ConcurrentHashMap<>();
+
+    public void defer(Class<?> clazz, Injection injection) {
+        pending.computeIfAbsent(clazz, k -> new ArrayList<>()).add(injection);
+    }
+
+    public void resolve(Class<?> clazz, Object instance) throws IllegalAccessException, InvocationTargetException,
+            NoSuchMethodException, InstantiationException, IoCBeanNotFound, IoCCircularDepException {
+        List<Injection> injections = pending.remove(clazz);
+        if (injections == null) {
+            return;
+        }
+        for (Injection injection : injections) {
+            injection.inject(instance);
+        }
+    }
+
+    public interface Injection {
+        void inject(Object instance) throws IllegalAccessException, InvocationTargetException, NoSuchMethodException,
+                InstantiationException, IoCBeanNotFound, IoCCircularDepException;
+    }
+}
@@ -0,0 +1,237 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCCircularDepException;
+import dev.keva.ioc.exception.IoCException;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Dependency graph of the beans of a scan. Cycles are collapsed into groups (strongly connected components)
+ * that are created together on one thread, the resulting groups form a DAG that can be created in parallel.
+ */
+public class DependencyGraph {
+    private final Map<Class<?>, Set<Class<?>>> edges = new LinkedHashMap<>();
+
+    public void addNode(Class<?> clazz) {
+        edges.computeIfAbsent(clazz, k -> new LinkedHashSet<>());
+    }
+
+    public boolean containsNode(Class<?> clazz) {
+        return edges.containsKey(clazz);
+    }
+
+    /**
+     * Records that {@code clazz} needs {@code dependency}, both must be nodes of the graph.
+     */
+    public void addEdge(Class<?> clazz, Class<?> dependency) {
+        if (clazz != dependency) {
+            edges.get(clazz).add(dependency);
+        }
+    }
+
+    /**
+     * Returns the groups in topological order, every group comes after the groups it depends on. Members of a
+     * group keep the order in which they were added to the graph.
+     */
+    public List<Group> getGroups() {
+        Tarjan tarjan = new Tarjan();
+        for (Class<?> clazz : edges.keySet()) {
+            if (!tarjan.index.containsKey(clazz)) {
+                tarjan.visit(clazz);
+            }
+        }
+        Map<Class<?>, Integer> order = new HashMap<>();
+        for (Class<?> clazz : edges.keySet()) {
+            order.put(clazz, order.size());
+        }
+        for (Group group : tarjan.groups) {
+            group.members.sort(Comparator.comparing(order::get));
+            for (Class<?> member : group.members) {
+                for (Class<?> dependency : edges.get(member)) {
+                    Group dependencyGroup = tarjan.groupOf.get(dependency);
+                    if (dependencyGroup != group) {
+                        group.dependencies.add(dependencyGroup);
+                    }
+                }
+            }
+        }
+        return tarjan.groups;
+    }
+
+    /**
+     * Orders the nodes with Kahn's algorithm, every node comes after its dependencies. Fails with the path of
+     * a cycle when the graph has one.
+     */
+    public List<Class<?>> sort() throws IoCCircularDepException {
+        Map<Class<?>, Integer> pending = new HashMap<>();
+        Map<Class<?>, List<Class<?>>> dependents = new HashMap<>();
+        Deque<Class<?>> ready = new ArrayDeque<>();
+        for (Map.Entry<Class<?>, Set<Class<?>>> entry : edges.entrySet()) {
+            pending.put(entry.getKey(), entry.getValue().size());
+            for (Class<?> dependency : entry.getValue()) {
+                dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(entry.getKey());
+            }
+            if (entry.getValue().isEmpty()) {
+                ready.add(entry.getKey());
+            }
+        }
+        List<Class<?>> sorted = new ArrayList<>(edges.size());
+        while (!ready.isEmpty()) {
+            Class<?> clazz = ready.removeFirst();
+            sorted.add(clazz);
+            for (Class<?> dependent : dependents.getOrDefault(clazz, Collections.emptyList())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (sorted.size() < edges.size()) {
+            throw new IoCCircularDepException("Circular dependency detected: " + describeCycle(pending));
+        }
+        return sorted;
+    }
+
+    /**
+     * Every node left with pending dependencies has a pending dependency itself, following them from any such
+     * node ends in a cycle.
+     */
+    private String describeCycle(Map<Class<?>, Integer> pending) {
+        Class<?> current = null;
+        for (Map.Entry<Class<?>, Integer> entry : pending.entrySet()) {
+            if (entry.getValue() > 0) {
+                current = entry.getKey();
+                break;
+            }
+        }
+        List<Class<?>> path = new ArrayList<>();
+        while (!path.contains(current)) {
+            path.add(current);
+            for (Class<?> dependency : edges.get(current)) {
+                if (pending.get(dependency) > 0) {
+                    current = dependency;
+                    break;
+                }
+            }
+        }
+        StringBuilder cycle = new StringBuilder();
+        for (Class<?> clazz : path.subList(path.indexOf(current), path.size())) {
+            cycle.append(clazz.getSimpleName()).append(" -> ");
+        }
+        return cycle.append(current.getSimpleName()).toString();
+    }
+
+    /**
+     * Runs the task for every group on the executor, as soon as all the groups it depends on are done, and
+     * returns the critical path of the run.
+     */
+    public CriticalPath execute(Executor executor, GroupTask task) {
+        List<Group> groups = getGroups();
+        Map<Group, CompletableFuture<Void>> futures = new HashMap<>();
+        for (Group group : groups) {
+            CompletableFuture<?>[] dependencies = new CompletableFuture<?>[group.dependencies.size()];
+            int i = 0;
+            for (Group dependency : group.dependencies) {
+                dependencies[i++] = futures.get(dependency);
+            }
+            futures.put(group, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    task.run(group.members);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+                group.nanos = System.nanoTime() - start;
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IoCException(cause);
+        }
+        return getCriticalPath(groups);
+    }
+
+    private static CriticalPath getCriticalPath(List<Group> groups) {
+        Map<Group, Long> finish = new HashMap<>();
+        Map<Group, Group> previous = new HashMap<>();
+        Group last = null;
+        for (Group group : groups) {
+            long start = 0;
+            for (Group dependency : group.dependencies) {
+                if (finish.get(dependency) > start) {
+                    start = finish.get(dependency);
+                    previous.put(group, dependency);
+                }
+            }
+            finish.put(group, start + group.nanos);
+            if (last == null || finish.get(group) > finish.get(last)) {
+                last = group;
+            }
+        }
+        LinkedList<Class<?>> path = new LinkedList<>();
+        for (Group group = last; group != null; group = previous.get(group)) {
+            path.addAll(0, group.members);
+        }
+        return new CriticalPath(path, last == null ? 0 : finish.get(last));
+    }
+
+    public interface GroupTask {
+        void run(List<Class<?>> members) throws Exception;
+    }
+
+    public static final class Group {
+        private final List<Class<?>> members = new ArrayList<>(1);
+        private final Set<Group> dependencies = new LinkedHashSet<>();
+        private volatile long nanos;
+
+        public List<Class<?>> getMembers() {
+            return members;
+        }
+
+        public Set<Group> getDependencies() {
+            return dependencies;
+        }
+    }
+
+    private final class Tarjan {
+        private final Map<Class<?>, Integer> index = new HashMap<>();
+        private final Map<Class<?>, Integer> lowLink = new HashMap<>();
+        private final Deque<Class<?>> stack = new ArrayDeque<>();
+        private final Set<Class<?>> onStack = new HashSet<>();
+        private final Map<Class<?>, Group> groupOf = new HashMap<>();
+        private final List<Group> groups = new ArrayList<>();
+
+        private void visit(Class<?> clazz) {
+            index.put(clazz, index.size());
+            lowLink.put(clazz, index.get(clazz));
+            stack.push(clazz);
+            onStack.add(clazz);
+            for (Class<?> dependency : edges.get(clazz)) {
+                if (!index.containsKey(dependency)) {
+                    visit(dependency);
+                    lowLink.put(clazz, Math.min(lowLink.get(clazz), lowLink.get(dependency)));
+                } else if (onStack.contains(dependency)) {
+                    lowLink.put(clazz, Math.min(lowLink.get(clazz), index.get(dependency)));
+                }
+            }
+            if (lowLink.get(clazz).equals(index.get(clazz))) {
+                Group group = new Group();
+                Class<?> member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    group.members.add(member);
+                    groupOf.put(member, group);
+                } while (member != clazz);
+                groups.add(group);
+            }
+        }
+    }
+}
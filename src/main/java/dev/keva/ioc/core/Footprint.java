@@ -0,0 +1,102 @@
+package dev.keva.ioc.core;
+
+/**
+ * Estimated heap held by the registries of a container: the beans by class and the implementations by type.
+ * Only the registry structures are counted, not the beans, classes and names they refer to. Estimates assume a
+ * 64-bit JVM with compressed references: 12 byte object headers, 4 byte references and 8 byte alignment.
+ */
+public final class Footprint {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private final int beanEntries;
+    private final long beanBytes;
+    private final int implementationEntries;
+    private final long implementationBytes;
+    private final boolean frozen;
+
+    public Footprint(int beanEntries, long beanBytes, int implementationEntries, long implementationBytes,
+                     boolean frozen) {
+        this.beanEntries = beanEntries;
+        this.beanBytes = beanBytes;
+        this.implementationEntries = implementationEntries;
+        this.implementationBytes = implementationBytes;
+        this.frozen = frozen;
+    }
+
+    /**
+     * Returns the number of classes holding beans.
+     */
+    public int getBeanEntries() {
+        return beanEntries;
+    }
+
+    public long getBeanBytes() {
+        return beanBytes;
+    }
+
+    /**
+     * Returns the number of types implementations are registered under, each class with all its supertypes.
+     */
+    public int getImplementationEntries() {
+        return implementationEntries;
+    }
+
+    public long getImplementationBytes() {
+        return implementationBytes;
+    }
+
+    public long getTotalBytes() {
+        return beanBytes + implementationBytes;
+    }
+
+    /**
+     * Whether the registries were compacted at the end of the startup.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public String toString() {
+        return "Registries " + (frozen ? "frozen" : "not frozen") + ", " + beanEntries + " bean entries ("
+                + beanBytes + " bytes), " + implementationEntries + " implementation entries ("
+                + implementationBytes + " bytes), " + getTotalBytes() + " bytes in total";
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long object(int references, int ints) {
+        return align(OBJECT_HEADER + (long) REFERENCE * references + 4L * ints);
+    }
+
+    static long array(int length) {
+        return align(ARRAY_HEADER + (long) REFERENCE * length);
+    }
+
+    /**
+     * Estimates a {@code ConcurrentHashMap} or {@code HashMap} of the given size: the map, its table, resized
+     * at three quarters full, and one node per mapping.
+     */
+    static long hashMap(int size, int initialCapacity) {
+        long bytes = object(6, 4);
+        if (size == 0) {
+            return bytes;
+        }
+        int capacity = initialCapacity;
+        while (size > capacity * 3 / 4) {
+            capacity <<= 1;
+        }
+        return bytes + array(capacity) + size * object(3, 1);
+    }
+
+    /**
+     * Estimates a {@code ConcurrentLinkedQueue} of the given size, one node per element.
+     */
+    static long linkedQueue(int size) {
+        return object(2, 0) + (size + 1) * object(2, 0);
+    }
+}
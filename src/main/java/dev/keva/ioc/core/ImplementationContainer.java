@@ -2,45 +2,235 @@ package dev.keva.ioc.core;
 
 import dev.keva.ioc.exception.IoCException;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Implementation classes by the types they can be injected as. {@link #freeze()} compacts the registrations into
+ * a {@link ClassTable} once the startup is over: a type with one implementation maps to the class itself, one
+ * with several keeps its {@link Implementations}, whose name index resolves qualifiers without a scan. Registering under a frozen type thaws the table first,
+ * readers see the table and the map of one {@link Store}, swapped as a whole. Before the freeze each type maps to
+ * an immutable {@link Implementations}, replaced as a whole by a registration, so readers never lock either.
+ */
 public class ImplementationContainer {
-    private final Map<Class<?>, Class<?>> implementationsMap = new HashMap<>(10);
+    private volatile Store store = new Store(ClassTable.empty());
+    private final Map<Class<?>, String> missingImplementations = new ConcurrentHashMap<>();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
 
+    /**
+     * Registers the implementation under the given type and every supertype of it, except {@code Object}.
+     */
     public void putImplementationClass(Class<?> implementationClass, Class<?> interfaceClass) {
-        implementationsMap.put(implementationClass, interfaceClass);
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectSupertypes(interfaceClass, types);
+        while (true) {
+            swapLock.readLock().lock();
+            try {
+                Store current = store;
+                if (!isFrozen(current, types)) {
+                    for (Class<?> type : types) {
+                        current.implementations.compute(type, (k, implementations) -> implementations == null ?
+                                Implementations.of(implementationClass) : implementations.with(implementationClass));
+                        missingImplementations.remove(type);
+                    }
+                    return;
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+            thaw();
+        }
+    }
+
+    private static boolean isFrozen(Store store, Set<Class<?>> types) {
+        for (Class<?> type : types) {
+            if (store.frozen.containsKey(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compacts the registrations into arrays. Later registrations go to a fresh map.
+     */
+    public void freeze() {
+        swapLock.writeLock().lock();
+        try {
+            Map<Class<?>, Object> all = new HashMap<>();
+            store.frozen.forEach(all::put);
+            for (Map.Entry<Class<?>, Implementations> entry : store.implementations.entrySet()) {
+                Implementations implementations = entry.getValue();
+                all.put(entry.getKey(), implementations.classes.length == 1 ? implementations.classes[0] :
+                        implementations);
+            }
+            store = new Store(ClassTable.of(all));
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void thaw() {
+        swapLock.writeLock().lock();
+        try {
+            Store current = store;
+            if (current.frozen.size() == 0) {
+                return;
+            }
+            Store thawed = new Store(ClassTable.empty());
+            thawed.implementations.putAll(current.implementations);
+            current.frozen.forEach((type, value) -> thawed.implementations.putIfAbsent(type, value instanceof Class ?
+                    Implementations.of((Class<?>) value) : (Implementations) value));
+            store = thawed;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the implementations of the type: an {@link Implementations} or a frozen class.
+     */
+    private Object lookup(Class<?> type) {
+        Store current = store;
+        Object value = current.frozen.get(type);
+        return value != null ? value : current.implementations.get(type);
+    }
+
+    private static Class<?>[] toArray(Object value) {
+        if (value instanceof Class) {
+            return new Class<?>[]{(Class<?>) value};
+        }
+        return ((Implementations) value).classes;
+    }
+
+    public int size() {
+        Store current = store;
+        return current.frozen.size() + current.implementations.size();
+    }
+
+    /**
+     * Estimates the heap held by the container, the classes themselves excluded.
+     */
+    public long estimateBytes() {
+        Store current = store;
+        long[] bytes = {Footprint.object(3, 0) + Footprint.object(2, 0) + current.frozen.estimateBytes()
+                + Footprint.hashMap(current.implementations.size(), 16)
+                + Footprint.hashMap(missingImplementations.size(), 16)};
+        current.frozen.forEach((type, value) -> {
+            if (value instanceof Implementations) {
+                bytes[0] += ((Implementations) value).estimateBytes();
+            }
+        });
+        for (Implementations implementations : current.implementations.values()) {
+            bytes[0] += implementations.estimateBytes();
+        }
+        return bytes[0];
+    }
+
+    /**
+     * Whether an implementation is registered under the type.
+     */
+    public boolean contains(Class<?> type) {
+        return lookup(type) != null;
+    }
+
+    /**
+     * Returns every implementation registered under the type in registration order, empty when there is none.
+     */
+    public List<Class<?>> getImplementationClasses(Class<?> type) {
+        Object value = lookup(type);
+        return value == null ? Collections.emptyList() : new ArrayList<>(Arrays.asList(toArray(value)));
     }
 
     public Class<?> getImplementationClass(Class<?> interfaceClass, final String fieldName, final String qualifier) {
-        Set<Map.Entry<Class<?>, Class<?>>> implementationClasses =
-                implementationsMap.entrySet().stream().filter(entry ->
-                        entry.getValue() == interfaceClass).collect(Collectors.toSet());
+        Object value = lookup(interfaceClass);
         String errorMessage;
-        if (implementationClasses.isEmpty()) {
-            errorMessage = "No implementation found for interface " + interfaceClass.getName();
-        } else if (implementationClasses.size() == 1) {
-            Optional<Map.Entry<Class<?>, Class<?>>> optional = implementationClasses.stream().findFirst();
-            return optional.get().getKey();
+        if (value == null) {
+            errorMessage = missingImplementations.computeIfAbsent(interfaceClass,
+                    k -> "No implementation found for interface " + k.getName());
+        } else if (value instanceof Class) {
+            return (Class<?>) value;
         } else {
             final String findBy = (qualifier == null || qualifier.trim().length() == 0) ? fieldName : qualifier;
-            Optional<Map.Entry<Class<?>, Class<?>>> optional =
-                    implementationClasses.stream()
-                            .filter(entry ->
-                                    entry.getKey().getSimpleName()
-                                            .equalsIgnoreCase(findBy)).findAny();
-            if (optional.isPresent()) {
-                return optional.get().getKey();
-            } else {
-                errorMessage = "There are " + implementationClasses.size()
-                        + " of interface " + interfaceClass.getName()
-                        + " Expected single implementation or make use of"
-                        + " @Qualifier to resolve conflict";
+            Class<?>[] classes = toArray(value);
+            if (classes.length == 1) {
+                return classes[0];
+            }
+            // Frozen or not, a type with several implementations keeps its name index
+            Class<?> implementationClass = findBy == null ? null :
+                    ((Implementations) value).byName.get(toKey(findBy));
+            if (implementationClass != null) {
+                return implementationClass;
             }
+            errorMessage = "There are " + classes.length
+                    + " of interface " + interfaceClass.getName()
+                    + " Expected single implementation or make use of"
+                    + " @Qualifier to resolve conflict";
         }
         throw new IoCException(errorMessage);
     }
+
+    private static void collectSupertypes(Class<?> type, Set<Class<?>> types) {
+        if (type == null || type == Object.class || !types.add(type)) {
+            return;
+        }
+        collectSupertypes(type.getSuperclass(), types);
+        for (Class<?> interfaceClass : type.getInterfaces()) {
+            collectSupertypes(interfaceClass, types);
+        }
+    }
+
+    private static String toKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The frozen registrations and the map of the ones that are not frozen.
+     */
+    private static final class Store {
+        private final ClassTable<Object> frozen;
+        private final Map<Class<?>, Implementations> implementations = new ConcurrentHashMap<>(16);
+
+        private Store(ClassTable<Object> frozen) {
+            this.frozen = frozen;
+        }
+    }
+
+    /**
+     * The implementations of a type in registration order and the first of them by lower case simple name, never
+     * modified once published.
+     */
+    private static final class Implementations {
+        private final Class<?>[] classes;
+        private final Map<String, Class<?>> byName;
+
+        private Implementations(Class<?>[] classes) {
+            this.classes = classes;
+            this.byName = new HashMap<>(classes.length * 2);
+            for (Class<?> implementationClass : classes) {
+                byName.putIfAbsent(toKey(implementationClass.getSimpleName()), implementationClass);
+            }
+        }
+
+        private static Implementations of(Class<?>... classes) {
+            return new Implementations(classes);
+        }
+
+        private Implementations with(Class<?> implementationClass) {
+            for (Class<?> registered : classes) {
+                if (registered == implementationClass) {
+                    return this;
+                }
+            }
+            Class<?>[] newClasses = Arrays.copyOf(classes, classes.length + 1);
+            newClasses[classes.length] = implementationClass;
+            return new Implementations(newClasses);
+        }
+
+        private long estimateBytes() {
+            return Footprint.object(2, 0) + Footprint.array(classes.length) + Footprint.hashMap(byName.size(), 2);
+        }
+    }
 }
@@ -0,0 +1,384 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.annotation.AsyncInit;
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.exception.IoCException;
+import dev.keva.ioc.utils.FinderUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Everything the container needs to wire a class through reflection: the constructor, the injection points
+ * with their qualifiers and method handle invokers for constructor, fields, setters and {@code @Bean} methods.
+ * A plan is computed once per class and shared by all containers, so rebuilding a container or creating a
+ * bean again skips the annotation lookups.
+ */
+public final class InjectionPlan {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType FIELD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final InjectionPoint[] NO_POINTS = new InjectionPoint[0];
+
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+        @Override
+        protected InjectionPlan computeValue(Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final InjectionPoint[] constructorParameters;
+    private final MethodHandle constructor;
+    private final List<FieldInjection> fields;
+    private final List<MethodInjection> setters;
+    private final List<BeanMethod> beanMethods;
+
+    private InjectionPlan(Class<?> type) {
+        this.type = type;
+        Constructor<?> annotatedConstructor = FinderUtil.findAnnotatedConstructor(type);
+        if (annotatedConstructor != null) {
+            this.constructorParameters = getParameters(annotatedConstructor);
+            this.constructor = isAbstract(type) ? null : unreflectConstructor(annotatedConstructor);
+        } else {
+            this.constructorParameters = NO_POINTS;
+            this.constructor = findDefaultConstructor(type);
+        }
+
+        List<FieldInjection> fields = new ArrayList<>();
+        for (Field field : FinderUtil.findFields(type, Autowired.class)) {
+            fields.add(new FieldInjection(field));
+        }
+        List<MethodInjection> setters = new ArrayList<>();
+        for (Method method : FinderUtil.findMethods(type, Autowired.class)) {
+            setters.add(new MethodInjection(method));
+        }
+        List<BeanMethod> beanMethods = new ArrayList<>();
+        for (Method method : FinderUtil.findMethods(type, Bean.class)) {
+            beanMethods.add(new BeanMethod(method));
+        }
+        this.fields = Collections.unmodifiableList(fields);
+        this.setters = Collections.unmodifiableList(setters);
+        this.beanMethods = Collections.unmodifiableList(beanMethods);
+    }
+
+    public static InjectionPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * Returns the parameters of the {@code @Autowired} constructor, empty for the default constructor.
+     */
+    public InjectionPoint[] getConstructorParameters() {
+        return constructorParameters;
+    }
+
+    public List<FieldInjection> getFields() {
+        return fields;
+    }
+
+    public List<MethodInjection> getSetters() {
+        return setters;
+    }
+
+    public List<BeanMethod> getBeanMethods() {
+        return beanMethods;
+    }
+
+    public Object newInstance(Object[] parameters) throws InstantiationException, InvocationTargetException {
+        if (constructor == null) {
+            if (isAbstract(type)) {
+                throw new InstantiationException(type.getName());
+            }
+            throw new IoCException("There is no default constructor in class " + type.getName());
+        }
+        try {
+            return (Object) constructor.invokeExact(parameters);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private static MethodHandle findDefaultConstructor(Class<?> type) {
+        if (isAbstract(type)) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getConstructor();
+            constructor.setAccessible(true);
+            return unreflectConstructor(constructor);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static boolean isAbstract(Class<?> type) {
+        return type.isInterface() || Modifier.isAbstract(type.getModifiers());
+    }
+
+    private static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            return LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IoCException(e);
+        }
+    }
+
+    private static InjectionPoint[] getParameters(Executable executable) {
+        Parameter[] parameters = executable.getParameters();
+        Class<?>[] parameterTypes = executable.getParameterTypes();
+        InjectionPoint[] points = new InjectionPoint[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            points[i] = InjectionPoint.of(parameters[i].getParameterizedType(), parameterTypes[i], null,
+                    FinderUtil.findQualifier(parameters[i]));
+        }
+        return points;
+    }
+
+    private static MethodHandle unreflectMethod(Method method) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount()).asType(METHOD_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IoCException(e);
+        }
+    }
+
+    /**
+     * Type, name and qualifier a dependency is resolved by. The name of constructor and method parameters is
+     * the name of their type, as parameter names are not kept at runtime. For {@code Provider<T>} and
+     * {@code Optional<T>} injection points the type is {@code T}, for {@code List<T>}, {@code T[]} and
+     * {@code Map<String, T>} ones, which receive every bean of {@code T}, it is the element type.
+     */
+    public static final class InjectionPoint {
+        private final Kind kind;
+        private final Class<?> type;
+        private final String name;
+        private final String qualifier;
+
+        private InjectionPoint(Kind kind, Class<?> type, String name, String qualifier) {
+            this.kind = kind;
+            this.type = type;
+            this.name = name;
+            this.qualifier = qualifier;
+        }
+
+        private static InjectionPoint of(Type genericType, Class<?> rawType, String name, String qualifier) {
+            Kind kind = getKind(rawType);
+            Class<?> type = rawType;
+            if (kind == Kind.ARRAY) {
+                type = rawType.getComponentType();
+            } else if (kind == Kind.MAP) {
+                Type[] arguments = genericType instanceof ParameterizedType ?
+                        ((ParameterizedType) genericType).getActualTypeArguments() : null;
+                type = arguments != null && arguments[0] == String.class ? getRawType(arguments[1]) : null;
+                if (type == null) {
+                    throw new IoCException("Cannot inject " + genericType.getTypeName()
+                            + ", expected String keys and a class value type");
+                }
+            } else if (kind != Kind.BEAN) {
+                type = genericType instanceof ParameterizedType ?
+                        getRawType(((ParameterizedType) genericType).getActualTypeArguments()[0]) : null;
+                if (type == null) {
+                    throw new IoCException("Cannot inject " + genericType.getTypeName() + ", expected a class type argument");
+                }
+            }
+            return new InjectionPoint(kind, type, name != null ? name : type.getName(), qualifier);
+        }
+
+        private static Kind getKind(Class<?> rawType) {
+            if (rawType == Provider.class) {
+                return Kind.PROVIDER;
+            }
+            if (rawType == Optional.class) {
+                return Kind.OPTIONAL;
+            }
+            if (rawType == List.class) {
+                return Kind.LIST;
+            }
+            if (rawType == Map.class) {
+                return Kind.MAP;
+            }
+            return rawType.isArray() && !rawType.getComponentType().isPrimitive() ? Kind.ARRAY : Kind.BEAN;
+        }
+
+        private static Class<?> getRawType(Type type) {
+            if (type instanceof Class) {
+                return (Class<?>) type;
+            }
+            if (type instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) type).getRawType();
+            }
+            return null;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getQualifier() {
+            return qualifier;
+        }
+
+        /**
+         * Whether the injection point receives every bean of its type rather than one.
+         */
+        public boolean isMultiple() {
+            return kind == Kind.LIST || kind == Kind.ARRAY || kind == Kind.MAP;
+        }
+
+        public enum Kind {
+            BEAN, PROVIDER, OPTIONAL, LIST, ARRAY, MAP
+        }
+    }
+
+    public static final class FieldInjection {
+        private final InjectionPoint point;
+        private final Field field;
+        private final MethodHandle setter;
+
+        private FieldInjection(Field field) {
+            this.point = InjectionPoint.of(field.getGenericType(), field.getType(), field.getName(),
+                    FinderUtil.findQualifier(field));
+            this.field = field;
+            MethodHandle setter;
+            try {
+                setter = LOOKUP.unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+                }
+                setter = setter.asType(FIELD_TYPE);
+            } catch (IllegalAccessException e) {
+                // Final fields cannot always be set through a method handle, they keep using Field.set
+                setter = null;
+            }
+            this.setter = setter;
+        }
+
+        public InjectionPoint getPoint() {
+            return point;
+        }
+
+        public void set(Object target, Object value) throws IllegalAccessException {
+            if (setter == null) {
+                field.set(target, value);
+                return;
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IoCException(t);
+            }
+        }
+    }
+
+    public static final class MethodInjection {
+        private final InjectionPoint[] parameters;
+        private final MethodHandle invoker;
+
+        private MethodInjection(Method method) {
+            this.parameters = InjectionPlan.getParameters(method);
+            this.invoker = unreflectMethod(method);
+        }
+
+        public InjectionPoint[] getParameters() {
+            return parameters;
+        }
+
+        public void invoke(Object target, Object[] arguments) throws InvocationTargetException {
+            try {
+                Object ignored = (Object) invoker.invokeExact(target, arguments);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
+    /**
+     * A {@code @Bean} method. The bean of a method returning a {@code CompletionStage<T>} is of type {@code T}
+     * and exists once the stage completes.
+     */
+    public static final class BeanMethod {
+        private final Class<?> type;
+        private final String name;
+        private final boolean future;
+        private final boolean asyncInit;
+        private final MethodHandle invoker;
+
+        private BeanMethod(Method method) {
+            this.future = CompletionStage.class.isAssignableFrom(method.getReturnType());
+            if (future) {
+                Type returnType = method.getGenericReturnType();
+                this.type = returnType instanceof ParameterizedType ?
+                        InjectionPoint.getRawType(((ParameterizedType) returnType).getActualTypeArguments()[0]) : null;
+                if (type == null) {
+                    throw new IoCException("Cannot register the bean of " + method + ", expected a class type argument");
+                }
+            } else {
+                this.type = method.getReturnType();
+            }
+            this.name = method.getAnnotation(Bean.class).value();
+            this.asyncInit = method.isAnnotationPresent(AsyncInit.class);
+            this.invoker = unreflectMethod(method);
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Whether the method returns a {@code CompletionStage} of the bean rather than the bean.
+         */
+        public boolean isFuture() {
+            return future;
+        }
+
+        /**
+         * Whether the method is annotated with {@link AsyncInit} and runs on the startup executor.
+         */
+        public boolean isAsyncInit() {
+            return asyncInit;
+        }
+
+        public boolean isAsync() {
+            return future || asyncInit;
+        }
+
+        public Object invoke(Object configuration) throws InvocationTargetException {
+            try {
+                return (Object) invoker.invokeExact(configuration, new Object[0]);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package dev.keva.ioc.core;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * Interface proxy injected in place of a lazy bean, the bean is resolved on the first method call. The
+ * {@code Object} methods are answered by the proxy itself, so logging it or putting it in a hash set does not
+ * create the bean.
+ */
+public final class LazyProxy implements InvocationHandler {
+    private final Class<?> interfaceClass;
+    private final Supplier<Object> supplier;
+    private volatile Object target;
+
+    private LazyProxy(Class<?> interfaceClass, Supplier<Object> supplier) {
+        this.interfaceClass = interfaceClass;
+        this.supplier = supplier;
+    }
+
+    public static Object create(Class<?> interfaceClass, Supplier<Object> supplier) {
+        return Proxy.newProxyInstance(interfaceClass.getClassLoader(), new Class<?>[]{interfaceClass},
+                new LazyProxy(interfaceClass, supplier));
+    }
+
+    public static boolean isLazyProxy(Object object) {
+        return object != null && Proxy.isProxyClass(object.getClass())
+                && Proxy.getInvocationHandler(object) instanceof LazyProxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "Lazy proxy for " + interfaceClass.getName();
+            }
+        }
+        Object instance = target;
+        if (instance == null) {
+            // Creation itself is once-only, racing threads end up with the same bean
+            instance = supplier.get();
+            target = instance;
+        }
+        if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            // The bean is created eagerly through a package-private interface as well
+            method.setAccessible(true);
+        }
+        try {
+            return method.invoke(instance, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
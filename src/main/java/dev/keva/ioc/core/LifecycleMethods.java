@@ -0,0 +1,120 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.annotation.PostConstruct;
+import dev.keva.ioc.annotation.PreDestroy;
+import dev.keva.ioc.exception.IoCException;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * The {@code @PostConstruct} and {@code @PreDestroy} methods of a class, looked up once per class and invoked
+ * through method handles. Unlike an {@link InjectionPlan} it only touches annotated methods, so it can be
+ * computed for any bean, including the ones {@code @Bean} methods return.
+ */
+public final class LifecycleMethods {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType METHOD_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final ClassValue<LifecycleMethods> METHODS = new ClassValue<LifecycleMethods>() {
+        @Override
+        protected LifecycleMethods computeValue(Class<?> type) {
+            return new LifecycleMethods(type);
+        }
+    };
+
+    private final List<MethodHandle> postConstructMethods;
+    private final List<MethodHandle> preDestroyMethods;
+
+    private LifecycleMethods(Class<?> type) {
+        this.postConstructMethods = find(type, PostConstruct.class, true);
+        this.preDestroyMethods = find(type, PreDestroy.class, false);
+    }
+
+    public static LifecycleMethods of(Class<?> type) {
+        return METHODS.get(type);
+    }
+
+    public boolean hasPostConstruct() {
+        return !postConstructMethods.isEmpty();
+    }
+
+    public boolean hasPreDestroy() {
+        return !preDestroyMethods.isEmpty();
+    }
+
+    /**
+     * Calls the {@code @PostConstruct} methods, the ones declared by superclasses first.
+     */
+    public void postConstruct(Object bean) throws InvocationTargetException {
+        invokeAll(postConstructMethods, bean);
+    }
+
+    /**
+     * Calls the {@code @PreDestroy} methods, the ones declared by the class first.
+     */
+    public void preDestroy(Object bean) throws InvocationTargetException {
+        invokeAll(preDestroyMethods, bean);
+    }
+
+    private static void invokeAll(List<MethodHandle> methods, Object bean) throws InvocationTargetException {
+        for (MethodHandle method : methods) {
+            try {
+                method.invokeExact(bean);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+    }
+
+    /**
+     * Returns the annotated methods of the class and its superclasses, sorted by name within a class. A method
+     * overridden by a subclass is only called once, through the subclass.
+     */
+    private static List<MethodHandle> find(Class<?> type, Class<? extends Annotation> annotation,
+                                           boolean superclassFirst) {
+        List<List<MethodHandle>> hierarchy = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            Method[] declared = clazz.getDeclaredMethods();
+            Arrays.sort(declared, Comparator.comparing(Method::getName));
+            List<MethodHandle> methods = new ArrayList<>();
+            for (Method method : declared) {
+                boolean overridden = !Modifier.isPrivate(method.getModifiers()) && method.getParameterCount() == 0
+                        && !seen.add(method.getName());
+                if (!method.isAnnotationPresent(annotation) || overridden) {
+                    continue;
+                }
+                if (method.getParameterCount() > 0 || Modifier.isStatic(method.getModifiers())) {
+                    throw new IoCException("@" + annotation.getSimpleName() + " method " + method
+                            + " must be an instance method without parameters");
+                }
+                methods.add(unreflect(method));
+            }
+            hierarchy.add(methods);
+        }
+        if (superclassFirst) {
+            Collections.reverse(hierarchy);
+        }
+        List<MethodHandle> methods = new ArrayList<>();
+        for (List<MethodHandle> declared : hierarchy) {
+            methods.addAll(declared);
+        }
+        return methods.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(methods);
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asType(METHOD_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IoCException(e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package dev.keva.ioc.core;
+
+/**
+ * Injectable handle on a bean, {@code @Autowired Provider<Engine>} instead of {@code @Autowired Engine}. The bean
+ * is only looked up, and created if needed, when {@link #get()} is first called, so a provider also breaks
+ * dependency cycles. Singletons are returned from a cached reference afterwards, prototype and pooled beans are
+ * obtained anew on every call.
+ */
+public interface Provider<T> {
+    T get();
+}
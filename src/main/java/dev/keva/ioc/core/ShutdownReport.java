@@ -0,0 +1,118 @@
+package dev.keva.ioc.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a container shutdown: how long each bean took to be destroyed and how it ended. Beans are listed in
+ * the order their destruction finished, durations are measured with {@link System#nanoTime()}.
+ */
+public class ShutdownReport {
+    private final List<BeanShutdown> beans;
+    private final long totalNanos;
+    private final boolean deadlineExceeded;
+
+    public ShutdownReport(List<BeanShutdown> beans, long totalNanos, boolean deadlineExceeded) {
+        this.beans = Collections.unmodifiableList(new ArrayList<>(beans));
+        this.totalNanos = totalNanos;
+        this.deadlineExceeded = deadlineExceeded;
+    }
+
+    public enum Status {
+        CLOSED, FAILED, TIMED_OUT, SKIPPED
+    }
+
+    public List<BeanShutdown> getBeans() {
+        return beans;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Whether the overall deadline passed before every bean was destroyed, the remaining ones are skipped.
+     */
+    public boolean isDeadlineExceeded() {
+        return deadlineExceeded;
+    }
+
+    public List<BeanShutdown> getSlowestBeans(int limit) {
+        List<BeanShutdown> slowest = new ArrayList<>(beans);
+        slowest.sort(Comparator.comparingLong(BeanShutdown::getNanos).reversed());
+        return slowest.subList(0, Math.min(limit, slowest.size()));
+    }
+
+    /**
+     * Returns the beans whose destruction threw or did not finish in time.
+     */
+    public List<BeanShutdown> getFailures() {
+        List<BeanShutdown> failures = new ArrayList<>();
+        for (BeanShutdown bean : beans) {
+            if (bean.status == Status.FAILED || bean.status == Status.TIMED_OUT) {
+                failures.add(bean);
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder("Shutdown of ").append(beans.size()).append(" beans in ")
+                .append(StartupReport.format(totalNanos));
+        if (deadlineExceeded) {
+            report.append(", deadline exceeded");
+        }
+        for (BeanShutdown bean : beans) {
+            report.append(System.lineSeparator()).append("  ").append(bean);
+        }
+        return report.toString();
+    }
+
+    public static final class BeanShutdown {
+        private final Class<?> type;
+        private final String name;
+        private final Status status;
+        private final long nanos;
+        private final Throwable failure;
+
+        public BeanShutdown(Class<?> type, String name, Status status, long nanos, Throwable failure) {
+            this.type = type;
+            this.name = name;
+            this.status = status;
+            this.nanos = nanos;
+            this.failure = failure;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Returns what the destruction threw, {@code null} unless it {@link Status#FAILED}.
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + status + " " + StartupReport.format(nanos)
+                    + (failure != null ? " (" + failure + ")" : "");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package dev.keva.ioc.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for bean creation that blocks on I/O. On Java 21 and later every task runs on its own virtual
+ * thread, looked up reflectively as the library targets Java 8. Older runtimes get a bounded pool of daemon
+ * platform threads instead.
+ */
+public final class StartupExecutors {
+    private static final String THREAD_PREFIX = "keva-startup-";
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+
+    private StartupExecutors() {
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns an executor starting a virtual thread per task, or a pool of at most {@code maxPlatformThreads}
+     * platform threads when virtual threads are not available. The caller shuts it down.
+     */
+    public static ExecutorService newStartupExecutor(int maxPlatformThreads) {
+        if (maxPlatformThreads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + maxPlatformThreads);
+        }
+        if (OF_VIRTUAL != null) {
+            try {
+                Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, THREAD_PREFIX, 0L);
+                ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+                // Virtual threads are a preview feature before Java 21, fall back to platform threads
+            }
+        }
+        return newPlatformExecutor(maxPlatformThreads);
+    }
+
+    private static ExecutorService newPlatformExecutor(int maxThreads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, THREAD_PREFIX + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Method findMethod(Class<?> clazz, String name) {
+        try {
+            return clazz.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package dev.keva.ioc.core;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of a container startup: the duration of every phase for each scanned package, and of every bean
+ * created until the container is built. Bean timings are split into steps and exclude the time spent creating
+ * their dependencies, so the slowest beans are the ones doing the most work themselves. All durations are
+ * measured with {@link System#nanoTime()}.
+ */
+public class StartupReport {
+    private static final BeanTimer NO_TIMER = new BeanTimer(null, null, null);
+
+    private final long startNanos = System.nanoTime();
+    private final Queue<PhaseTiming> phases = new ConcurrentLinkedQueue<>();
+    private final Queue<BeanTiming> beans = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Deque<BeanTimer>> timers = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile long totalNanos = -1;
+
+    public enum Phase {
+        CLASS_DISCOVERY, IMPLEMENTATIONS, CONFIGURATIONS, COMPONENTS
+    }
+
+    /**
+     * Steps of a bean creation. Generated factories inject fields and setters in one step, reported as
+     * {@code FIELD_INJECTION}.
+     */
+    public enum Step {
+        CONSTRUCTOR, FIELD_INJECTION, SETTER_INJECTION, POST_CONSTRUCT, BEAN_METHOD
+    }
+
+    /**
+     * Records a phase that started at {@code startNanos} and returns the current time, the start of the next phase.
+     */
+    public long recordPhase(Phase phase, String packageName, long startNanos) {
+        long now = System.nanoTime();
+        if (totalNanos < 0) {
+            phases.add(new PhaseTiming(phase, packageName, now - startNanos));
+        }
+        return now;
+    }
+
+    /**
+     * Starts timing a bean creation on the current thread, nested in the creation of the bean that needs it.
+     * Once the container is built this returns a timer that records nothing.
+     */
+    public BeanTimer startBean(Class<?> type) {
+        if (totalNanos >= 0) {
+            return NO_TIMER;
+        }
+        Deque<BeanTimer> stack = timers.get();
+        BeanTimer parent = stack.peek();
+        List<Class<?>> chain = new ArrayList<>(parent == null ? 1 : parent.chain.size() + 1);
+        if (parent != null) {
+            chain.addAll(parent.chain);
+        }
+        chain.add(type);
+        BeanTimer timer = new BeanTimer(this, type, chain);
+        stack.push(timer);
+        return timer;
+    }
+
+    /**
+     * Ends the startup, later bean creations are not recorded.
+     */
+    public void complete() {
+        if (totalNanos < 0) {
+            totalNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public List<PhaseTiming> getPhases() {
+        return new ArrayList<>(phases);
+    }
+
+    /**
+     * Returns the bean timings in the order the creations finished.
+     */
+    public List<BeanTiming> getBeans() {
+        return new ArrayList<>(beans);
+    }
+
+    public List<BeanTiming> getSlowestBeans(int limit) {
+        List<BeanTiming> slowest = getBeans();
+        slowest.sort(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed());
+        return slowest.subList(0, Math.min(limit, slowest.size()));
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"totalNanos\":").append(totalNanos).append(",\"phases\":[");
+        String separator = "";
+        for (PhaseTiming phase : phases) {
+            json.append(separator).append("{\"phase\":\"").append(phase.phase)
+                    .append("\",\"package\":").append(quote(phase.packageName))
+                    .append(",\"nanos\":").append(phase.nanos).append('}');
+            separator = ",";
+        }
+        json.append("],\"beans\":[");
+        separator = "";
+        for (BeanTiming bean : beans) {
+            json.append(separator).append("{\"type\":").append(quote(bean.type.getName()))
+                    .append(",\"thread\":").append(quote(bean.thread))
+                    .append(",\"totalNanos\":").append(bean.totalNanos)
+                    .append(",\"selfNanos\":").append(bean.getSelfNanos());
+            for (Step step : Step.values()) {
+                json.append(",\"").append(step).append("\":").append(bean.getNanos(step));
+            }
+            json.append(",\"chain\":[");
+            for (int i = 0; i < bean.chain.size(); i++) {
+                json.append(i > 0 ? "," : "").append(quote(bean.chain.get(i).getName()));
+            }
+            json.append("]}");
+            separator = ",";
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Returns the creation graph in Graphviz format, an edge points from a bean to the dependency it created.
+     */
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph startup {\n");
+        Set<String> edges = new LinkedHashSet<>();
+        for (BeanTiming bean : beans) {
+            dot.append("  ").append(quote(bean.type.getName())).append(" [label=")
+                    .append(quote(bean.type.getSimpleName() + "\\n" + format(bean.getSelfNanos()))).append("];\n");
+            if (bean.chain.size() > 1) {
+                edges.add("  " + quote(bean.chain.get(bean.chain.size() - 2).getName()) + " -> "
+                        + quote(bean.type.getName()) + ";\n");
+            }
+        }
+        for (String edge : edges) {
+            dot.append(edge);
+        }
+        return dot.append("}\n").toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("Startup ").append(format(totalNanos));
+        for (PhaseTiming phase : phases) {
+            builder.append("\n  ").append(phase);
+        }
+        for (BeanTiming bean : getSlowestBeans(10)) {
+            builder.append("\n  ").append(bean);
+        }
+        return builder.toString();
+    }
+
+    static String format(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Measures one bean creation, each {@link #step(Step)} ends a step that started at the previous one.
+     */
+    public static final class BeanTimer {
+        private final StartupReport report;
+        private final Class<?> type;
+        private final List<Class<?>> chain;
+        private final long[] stepNanos = new long[Step.values().length];
+        private final long startNanos;
+        private long stepStartNanos;
+        private long nestedNanos;
+
+        private BeanTimer(StartupReport report, Class<?> type, List<Class<?>> chain) {
+            this.report = report;
+            this.type = type;
+            this.chain = chain;
+            this.startNanos = report == null ? 0 : System.nanoTime();
+            this.stepStartNanos = startNanos;
+        }
+
+        public void step(Step step) {
+            if (report == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            stepNanos[step.ordinal()] += now - stepStartNanos - nestedNanos;
+            stepStartNanos = now;
+            nestedNanos = 0;
+        }
+
+        /**
+         * Records the bean, also when its creation failed.
+         */
+        public void finish() {
+            if (report == null) {
+                return;
+            }
+            long totalNanos = System.nanoTime() - startNanos;
+            Deque<BeanTimer> stack = report.timers.get();
+            stack.remove(this);
+            BeanTimer parent = stack.peek();
+            if (parent != null) {
+                parent.nestedNanos += totalNanos;
+            }
+            report.beans.add(new BeanTiming(type, Thread.currentThread().getName(), chain, stepNanos, totalNanos));
+        }
+    }
+
+    public static final class PhaseTiming {
+        private final Phase phase;
+        private final String packageName;
+        private final long nanos;
+
+        private PhaseTiming(Phase phase, String packageName, long nanos) {
+            this.phase = phase;
+            this.packageName = packageName;
+            this.nanos = nanos;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return phase + " " + packageName + " " + format(nanos);
+        }
+    }
+
+    public static final class BeanTiming {
+        private final Class<?> type;
+        private final String thread;
+        private final List<Class<?>> chain;
+        private final long[] stepNanos;
+        private final long totalNanos;
+
+        private BeanTiming(Class<?> type, String thread, List<Class<?>> chain, long[] stepNanos, long totalNanos) {
+            this.type = type;
+            this.thread = thread;
+            this.chain = Collections.unmodifiableList(chain);
+            this.stepNanos = stepNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public String getThread() {
+            return thread;
+        }
+
+        /**
+         * Returns the beans whose creation led to this one, starting with the bean created by the container
+         * and ending with this bean.
+         */
+        public List<Class<?>> getChain() {
+            return chain;
+        }
+
+        public long getNanos(Step step) {
+            return stepNanos[step.ordinal()];
+        }
+
+        /**
+         * Returns the time spent in the steps of this bean, without its dependencies.
+         */
+        public long getSelfNanos() {
+            long nanos = 0;
+            for (long step : stepNanos) {
+                nanos += step;
+            }
+            return nanos;
+        }
+
+        /**
+         * Returns the time from the start to the end of the creation, including dependencies.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return type.getName() + " " + format(getSelfNanos()) + " (total " + format(totalNanos) + ")";
+        }
+    }
+}
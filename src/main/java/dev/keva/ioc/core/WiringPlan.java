@@ -0,0 +1,292 @@
+package dev.keva.ioc.core;
+
+import dev.keva.ioc.exception.IoCException;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Wiring of a container resolved ahead of time: the classes discovered in each scanned package, and the eager
+ * beans in creation order with the implementation class chosen for each of their injection points. Written by
+ * {@code WiringPlanGenerator} at build time and replayed by {@code KevaIoC.fromPlan}, which neither scans nor
+ * resolves these beans again.
+ * <p>
+ * Beans are grouped, a group holds beans depending on each other through fields or setters. The beans of a
+ * group are constructed in order and injected once all of them exist. Every class of the plan is stored with
+ * a checksum of its class file, {@link #verify(ClassLoader)} rejects a plan built from other classes.
+ */
+public class WiringPlan {
+    public static final String LOCATION = "META-INF/keva/wiring.plan";
+    private static final String HEADER = "# Keva IoC wiring plan, version 1";
+    private static final String NONE = "-";
+
+    private final String mainClass;
+    private final List<String> includes = new ArrayList<>();
+    private final List<String> excludes = new ArrayList<>();
+    private final List<String> predefinedClasses = new ArrayList<>();
+    private final Map<String, List<String>> packages = new LinkedHashMap<>();
+    private final Map<String, Long> checksums = new LinkedHashMap<>();
+    private final List<List<Definition>> groups = new ArrayList<>();
+
+    public WiringPlan(String mainClass, String[] includes, String[] excludes) {
+        this.mainClass = mainClass;
+        this.includes.addAll(Arrays.asList(includes));
+        this.excludes.addAll(Arrays.asList(excludes));
+    }
+
+    /**
+     * Returns the plan packaged at {@value #LOCATION}, or {@code null} when the class loader has none.
+     */
+    public static WiringPlan load(ClassLoader classLoader) throws IOException {
+        URL resource = classLoader.getResource(LOCATION);
+        if (resource == null) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    public static WiringPlan read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    public static WiringPlan read(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        if (!HEADER.equals(lines.readLine())) {
+            throw new IoCException("Unsupported wiring plan format");
+        }
+        WiringPlan plan = null;
+        List<String> packageClasses = null;
+        List<Definition> group = null;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(" ");
+            if ("main".equals(parts[0])) {
+                plan = new WiringPlan(parts[1], new String[0], new String[0]);
+                continue;
+            }
+            if (plan == null) {
+                throw new IoCException("Wiring plan does not name its main class");
+            }
+            switch (parts[0]) {
+                case "include":
+                    plan.includes.add(parts[1]);
+                    break;
+                case "exclude":
+                    plan.excludes.add(parts[1]);
+                    break;
+                case "predefined":
+                    plan.predefinedClasses.add(parts[1]);
+                    break;
+                case "package":
+                    packageClasses = new ArrayList<>();
+                    plan.packages.put(parts.length > 1 ? parts[1] : "", packageClasses);
+                    break;
+                case "class":
+                    packageClasses.add(parts[1]);
+                    break;
+                case "checksum":
+                    plan.checksums.put(parts[1], Long.parseLong(parts[2], 16));
+                    break;
+                case "group":
+                    group = new ArrayList<>();
+                    plan.groups.add(group);
+                    break;
+                default:
+                    Definition.Kind kind = Definition.Kind.valueOf(parts[0].toUpperCase(Locale.ROOT));
+                    List<String> dependencies = new ArrayList<>();
+                    if (parts.length > 2) {
+                        for (String dependency : parts[2].split(",")) {
+                            dependencies.add(NONE.equals(dependency) ? null : dependency);
+                        }
+                    }
+                    group.add(new Definition(kind, parts[1], dependencies));
+            }
+        }
+        if (plan == null) {
+            throw new IoCException("Wiring plan does not name its main class");
+        }
+        return plan;
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            write(writer);
+        }
+    }
+
+    public void write(Writer writer) throws IOException {
+        PrintWriter out = new PrintWriter(writer);
+        out.println(HEADER);
+        out.println("main " + mainClass);
+        for (String include : includes) {
+            out.println("include " + include);
+        }
+        for (String exclude : excludes) {
+            out.println("exclude " + exclude);
+        }
+        for (String predefinedClass : predefinedClasses) {
+            out.println("predefined " + predefinedClass);
+        }
+        for (Map.Entry<String, List<String>> entry : packages.entrySet()) {
+            out.println("package " + entry.getKey());
+            for (String className : entry.getValue()) {
+                out.println("class " + className);
+            }
+        }
+        for (Map.Entry<String, Long> entry : checksums.entrySet()) {
+            out.println("checksum " + entry.getKey() + " " + Long.toHexString(entry.getValue()));
+        }
+        for (List<Definition> group : groups) {
+            out.println("group");
+            for (Definition definition : group) {
+                StringBuilder line = new StringBuilder(definition.kind.name().toLowerCase(Locale.ROOT))
+                        .append(' ').append(definition.className);
+                for (int i = 0; i < definition.dependencies.size(); i++) {
+                    String dependency = definition.dependencies.get(i);
+                    line.append(i == 0 ? ' ' : ',').append(dependency == null ? NONE : dependency);
+                }
+                out.println(line);
+            }
+        }
+        out.flush();
+        if (out.checkError()) {
+            throw new IOException("Cannot write wiring plan");
+        }
+    }
+
+    public void addPredefinedClass(Class<?> clazz) {
+        predefinedClasses.add(clazz.getName());
+    }
+
+    public void addPackage(String packageName, List<Class<?>> classes) {
+        List<String> classNames = new ArrayList<>(classes.size());
+        for (Class<?> clazz : classes) {
+            classNames.add(clazz.getName());
+            addChecksum(clazz);
+        }
+        packages.put(packageName, classNames);
+    }
+
+    public void addGroup(List<Definition> group) {
+        for (Definition definition : group) {
+            if (!checksums.containsKey(definition.className)) {
+                checksums.put(definition.className, checksum(Thread.currentThread().getContextClassLoader(),
+                        definition.className));
+            }
+        }
+        groups.add(group);
+    }
+
+    private void addChecksum(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader() != null ? clazz.getClassLoader() :
+                Thread.currentThread().getContextClassLoader();
+        checksums.put(clazz.getName(), checksum(classLoader, clazz.getName()));
+    }
+
+    /**
+     * Fails when a class of the plan is missing from the class loader or its class file differs from the one
+     * the plan was built from.
+     */
+    public void verify(ClassLoader classLoader) {
+        for (Map.Entry<String, Long> entry : checksums.entrySet()) {
+            long checksum = checksum(classLoader, entry.getKey());
+            if (checksum != entry.getValue()) {
+                throw new IoCException("Wiring plan does not match the classpath, class " + entry.getKey()
+                        + (checksum < 0 ? " is missing" : " has changed"));
+            }
+        }
+    }
+
+    /**
+     * Returns the CRC32 of the class file, -1 when the class loader does not find it.
+     */
+    private static long checksum(ClassLoader classLoader, String className) {
+        try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            if (in == null) {
+                return -1;
+            }
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+            return crc.getValue();
+        } catch (IOException e) {
+            throw new IoCException(e);
+        }
+    }
+
+    public String getMainClass() {
+        return mainClass;
+    }
+
+    public String[] getIncludes() {
+        return includes.toArray(new String[0]);
+    }
+
+    public String[] getExcludes() {
+        return excludes.toArray(new String[0]);
+    }
+
+    public List<String> getPredefinedClasses() {
+        return Collections.unmodifiableList(predefinedClasses);
+    }
+
+    /**
+     * Returns the scanned packages in scan order with the names of the classes discovered in each.
+     */
+    public Map<String, List<String>> getPackages() {
+        return Collections.unmodifiableMap(packages);
+    }
+
+    public List<List<Definition>> getGroups() {
+        return Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * A bean created from the plan. Dependencies follow the injection points of the class in
+     * {@link InjectionPlan} order: constructor parameters, fields, then setter parameters. Each is the
+     * implementation class to inject, {@code null} for an empty {@code Optional} or a {@code Provider}.
+     */
+    public static final class Definition {
+        private final Kind kind;
+        private final String className;
+        private final List<String> dependencies;
+
+        public Definition(Kind kind, String className, List<String> dependencies) {
+            this.kind = kind;
+            this.className = className;
+            this.dependencies = Collections.unmodifiableList(new ArrayList<>(dependencies));
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+
+        public enum Kind {
+            COMPONENT, CONFIGURATION
+        }
+    }
+}
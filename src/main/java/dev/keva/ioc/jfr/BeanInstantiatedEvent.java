@@ -0,0 +1,13 @@
+package dev.keva.ioc.jfr;
+
+import jdk.jfr.*;
+
+@Name("dev.keva.ioc.BeanInstantiated")
+@Label("Bean Instantiated")
+@Category("Keva IoC")
+@Description("Creation and injection of a bean")
+@StackTrace(false)
+final class BeanInstantiatedEvent extends Event {
+    @Label("Bean Class")
+    Class<?> beanClass;
+}
@@ -0,0 +1,16 @@
+package dev.keva.ioc.jfr;
+
+import jdk.jfr.*;
+
+@Name("dev.keva.ioc.BeanNotFound")
+@Label("Bean Not Found")
+@Category("Keva IoC")
+@Description("Lookup of a bean that does not exist yet")
+@StackTrace(false)
+final class BeanNotFoundEvent extends Event {
+    @Label("Requested Type")
+    Class<?> requestedType;
+
+    @Label("Message")
+    String message;
+}
@@ -0,0 +1,20 @@
+package dev.keva.ioc.jfr;
+
+import jdk.jfr.*;
+
+@Name("dev.keva.ioc.BeanResolved")
+@Label("Bean Resolved")
+@Category("Keva IoC")
+@Description("Implementation chosen for a requested type, disabled by default as it is emitted on every lookup")
+@Enabled(false)
+@StackTrace(false)
+final class BeanResolvedEvent extends Event {
+    @Label("Requested Type")
+    Class<?> requestedType;
+
+    @Label("Qualifier")
+    String qualifier;
+
+    @Label("Implementation Class")
+    Class<?> implementationClass;
+}
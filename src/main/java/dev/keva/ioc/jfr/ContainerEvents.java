@@ -0,0 +1,52 @@
+package dev.keva.ioc.jfr;
+
+/**
+ * Java Flight Recorder events of the container. On runtimes without {@code jdk.jfr} (Java 8 before update 262)
+ * every method is a no-op, otherwise events are recorded as configured in the JFR settings, under the
+ * "Keva IoC" category. Disabled events are never committed.
+ */
+public class ContainerEvents {
+    public static final ContainerEvents INSTANCE = load();
+
+    ContainerEvents() {
+    }
+
+    private static ContainerEvents load() {
+        try {
+            return (ContainerEvents) Class.forName("dev.keva.ioc.jfr.FlightRecorderEvents").getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ContainerEvents();
+        }
+    }
+
+    /**
+     * Starts timing a bean instantiation, the returned handle is passed to {@link #endInstantiation}.
+     */
+    public Object beginInstantiation() {
+        return null;
+    }
+
+    public void endInstantiation(Object handle, Class<?> beanClass) {
+    }
+
+    public void resolved(Class<?> requestedType, String qualifier, Class<?> implementationClass) {
+    }
+
+    public void beanNotFound(Class<?> requestedType, String message) {
+    }
+
+    /**
+     * Starts timing a class discovery, the returned handle is passed to {@link #endScan}.
+     */
+    public Object beginScan() {
+        return null;
+    }
+
+    /**
+     * @param source {@code index}, {@code scanner} or {@code scanCache}
+     * @param bytesRead bytes of class files or of the cache file read, 0 for the index
+     */
+    public void endScan(Object handle, String packageName, String source, int classCount, long bytesRead) {
+    }
+}
@@ -0,0 +1,68 @@
+package dev.keva.ioc.jfr;
+
+/**
+ * Implementation of {@link ContainerEvents} on top of {@code jdk.jfr}, only loaded when the runtime has it.
+ */
+final class FlightRecorderEvents extends ContainerEvents {
+    @Override
+    public Object beginInstantiation() {
+        BeanInstantiatedEvent event = new BeanInstantiatedEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endInstantiation(Object handle, Class<?> beanClass) {
+        if (handle != null) {
+            BeanInstantiatedEvent event = (BeanInstantiatedEvent) handle;
+            event.beanClass = beanClass;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void resolved(Class<?> requestedType, String qualifier, Class<?> implementationClass) {
+        BeanResolvedEvent event = new BeanResolvedEvent();
+        if (event.isEnabled()) {
+            event.requestedType = requestedType;
+            event.qualifier = qualifier;
+            event.implementationClass = implementationClass;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void beanNotFound(Class<?> requestedType, String message) {
+        BeanNotFoundEvent event = new BeanNotFoundEvent();
+        if (event.isEnabled()) {
+            event.requestedType = requestedType;
+            event.message = message;
+            event.commit();
+        }
+    }
+
+    @Override
+    public Object beginScan() {
+        ScanCompletedEvent event = new ScanCompletedEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endScan(Object handle, String packageName, String source, int classCount, long bytesRead) {
+        if (handle != null) {
+            ScanCompletedEvent event = (ScanCompletedEvent) handle;
+            event.packageName = packageName;
+            event.source = source;
+            event.classCount = classCount;
+            event.bytesRead = bytesRead;
+            event.commit();
+        }
+    }
+}
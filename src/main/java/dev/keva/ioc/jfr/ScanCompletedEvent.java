@@ -0,0 +1,23 @@
+package dev.keva.ioc.jfr;
+
+import jdk.jfr.*;
+
+@Name("dev.keva.ioc.ScanCompleted")
+@Label("Scan Completed")
+@Category("Keva IoC")
+@Description("Discovery of the component classes of a package")
+@StackTrace(false)
+final class ScanCompletedEvent extends Event {
+    @Label("Package")
+    String packageName;
+
+    @Label("Source")
+    String source;
+
+    @Label("Class Count")
+    int classCount;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytesRead;
+}
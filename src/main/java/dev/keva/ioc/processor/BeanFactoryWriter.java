@@ -0,0 +1,362 @@
+package dev.keva.ioc.processor;
+
+import dev.keva.ioc.annotation.AsyncInit;
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Qualifier;
+import dev.keva.ioc.core.BeanFactory;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Generates the {@link BeanFactory} sources of codegen mode. Classes that cannot be wired without reflection
+ * (private or final injection points, constructors and {@code @Bean} methods throwing checked exceptions, ...)
+ * are skipped and keep using the reflective path at runtime. Skipped classes are collected for a single summary,
+ * in verbose mode each one is reported once with the member needing reflection.
+ */
+class BeanFactoryWriter {
+    private final ProcessingEnvironment processingEnv;
+    private final boolean verbose;
+    private final Set<String> skipped;
+
+    BeanFactoryWriter(ProcessingEnvironment processingEnv, boolean verbose, Set<String> skipped) {
+        this.processingEnv = processingEnv;
+        this.verbose = verbose;
+        this.skipped = skipped;
+    }
+
+    boolean writeComponentFactory(TypeElement type) {
+        ExecutableElement constructor = findConstructor(type);
+        List<VariableElement> fields = findFields(type);
+        List<ExecutableElement> setters = findMethods(type, Autowired.class);
+        if (constructor == null || fields == null || setters == null || !isInstantiable(type, constructor)) {
+            return false;
+        }
+        for (ExecutableElement setter : setters) {
+            if (!isAccessible(type, setter) || setter.getModifiers().contains(Modifier.STATIC) || throwsChecked(setter)
+                    || hasWrappedParameter(setter)) {
+                return skip(type, setter);
+            }
+        }
+        if (hasWrappedParameter(constructor)) {
+            return skip(type, constructor);
+        }
+
+        String beanName = getCanonicalName(type);
+        StringBuilder body = new StringBuilder();
+        body.append("public final class ").append(getSimpleFactoryName(type, ""))
+                .append(" implements dev.keva.ioc.core.BeanFactory<").append(beanName).append("> {\n");
+        body.append("    @Override\n");
+        body.append("    public ").append(beanName).append(" newInstance(dev.keva.ioc.core.BeanResolver resolver)")
+                .append(" throws dev.keva.ioc.exception.IoCBeanNotFound, dev.keva.ioc.exception.IoCCircularDepException {\n");
+        List<String> arguments = new ArrayList<>();
+        for (VariableElement parameter : constructor.getParameters()) {
+            arguments.add("(" + erasure(parameter.asType()) + ") resolver.resolve(" + classLiteral(parameter.asType())
+                    + ", \"" + erasure(parameter.asType()) + "\", " + qualifier(parameter) + ")");
+        }
+        body.append("        return new ").append(beanName).append("(").append(String.join(", ", arguments)).append(");\n");
+        body.append("    }\n\n");
+        appendInjectMembers(body, beanName, fields, setters);
+        body.append("}\n");
+        return writeSource(type, getSimpleFactoryName(type, ""), body);
+    }
+
+    boolean writeConfigurationFactory(TypeElement type) {
+        List<VariableElement> fields = findFields(type);
+        List<ExecutableElement> beanMethods = findMethods(type, Bean.class);
+        if (fields == null || beanMethods == null || !isInstantiable(type, findNoArgConstructor(type))) {
+            return false;
+        }
+        Set<String> names = new HashSet<>();
+        for (ExecutableElement method : beanMethods) {
+            if (!isAccessible(type, method) || !method.getParameters().isEmpty() || throwsChecked(method)
+                    || method.getReturnType().getKind() == TypeKind.VOID || isAsync(method)
+                    || !names.add(method.getSimpleName().toString())) {
+                return skip(type, method);
+            }
+        }
+
+        String beanName = getCanonicalName(type);
+        List<String> methodFactories = new ArrayList<>();
+        for (ExecutableElement method : beanMethods) {
+            String factoryName = getSimpleFactoryName(type, "_" + method.getSimpleName());
+            StringBuilder body = new StringBuilder();
+            body.append("public final class ").append(factoryName)
+                    .append(" implements dev.keva.ioc.core.BeanMethodFactory<").append(beanName).append("> {\n");
+            body.append("    @Override\n");
+            body.append("    public Class<?> getType() {\n");
+            body.append("        return ").append(classLiteral(method.getReturnType())).append(";\n");
+            body.append("    }\n\n");
+            body.append("    @Override\n");
+            body.append("    public String getName() {\n");
+            body.append("        return \"").append(escape(method.getAnnotation(Bean.class).value())).append("\";\n");
+            body.append("    }\n\n");
+            body.append("    @Override\n");
+            body.append("    public Object create(").append(beanName).append(" configuration) {\n");
+            body.append("        return configuration.").append(method.getSimpleName()).append("();\n");
+            body.append("    }\n");
+            body.append("}\n");
+            if (!writeSource(type, factoryName, body)) {
+                return false;
+            }
+            methodFactories.add("new " + factoryName + "()");
+        }
+
+        StringBuilder body = new StringBuilder();
+        body.append("public final class ").append(getSimpleFactoryName(type, ""))
+                .append(" implements dev.keva.ioc.core.ConfigurationFactory<").append(beanName).append("> {\n");
+        body.append("    @Override\n");
+        body.append("    public ").append(beanName).append(" newInstance(dev.keva.ioc.core.BeanResolver resolver) {\n");
+        body.append("        return new ").append(beanName).append("();\n");
+        body.append("    }\n\n");
+        appendInjectMembers(body, beanName, fields, Collections.<ExecutableElement>emptyList());
+        body.append("\n");
+        body.append("    @Override\n");
+        body.append("    public java.util.List<dev.keva.ioc.core.BeanMethodFactory<").append(beanName).append(">> getBeanMethods() {\n");
+        body.append("        return java.util.Arrays.<dev.keva.ioc.core.BeanMethodFactory<").append(beanName).append(">>asList(")
+                .append(String.join(", ", methodFactories)).append(");\n");
+        body.append("    }\n");
+        body.append("}\n");
+        return writeSource(type, getSimpleFactoryName(type, ""), body);
+    }
+
+    private void appendInjectMembers(StringBuilder body, String beanName, List<VariableElement> fields,
+                                     List<ExecutableElement> setters) {
+        body.append("    @Override\n");
+        body.append("    public void injectMembers(final ").append(beanName)
+                .append(" instance, dev.keva.ioc.core.BeanResolver resolver)")
+                .append(" throws dev.keva.ioc.exception.IoCBeanNotFound, dev.keva.ioc.exception.IoCCircularDepException {\n");
+        for (VariableElement field : fields) {
+            body.append("        resolver.inject(new Class<?>[] {").append(classLiteral(field.asType()))
+                    .append("}, new String[] {\"").append(field.getSimpleName())
+                    .append("\"}, new String[] {").append(qualifier(field))
+                    .append("}, beans -> instance.").append(field.getSimpleName())
+                    .append(" = (").append(erasure(field.asType())).append(") beans[0]);\n");
+        }
+        for (ExecutableElement setter : setters) {
+            List<String> types = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            List<String> qualifiers = new ArrayList<>();
+            List<String> arguments = new ArrayList<>();
+            for (VariableElement parameter : setter.getParameters()) {
+                types.add(classLiteral(parameter.asType()));
+                names.add("\"" + erasure(parameter.asType()) + "\"");
+                qualifiers.add(qualifier(parameter));
+                arguments.add("(" + erasure(parameter.asType()) + ") beans[" + arguments.size() + "]");
+            }
+            body.append("        resolver.inject(new Class<?>[] {").append(String.join(", ", types))
+                    .append("}, new String[] {").append(String.join(", ", names))
+                    .append("}, new String[] {").append(String.join(", ", qualifiers))
+                    .append("}, beans -> instance.").append(setter.getSimpleName())
+                    .append("(").append(String.join(", ", arguments)).append("));\n");
+        }
+        body.append("    }\n");
+    }
+
+    private boolean writeSource(TypeElement type, String simpleName, StringBuilder body) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+            try (Writer writer = file.openWriter()) {
+                if (!packageName.isEmpty()) {
+                    writer.write("package " + packageName + ";\n\n");
+                }
+                writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+                writer.write(body.toString());
+            }
+            return true;
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + qualifiedName + ": " + e.getMessage(), type);
+            return false;
+        }
+    }
+
+    /**
+     * Mirrors {@code FinderUtil.findAnnotatedConstructor}, falling back to the public no-arg constructor.
+     */
+    private ExecutableElement findConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getAnnotation(Autowired.class) != null) {
+                return constructor;
+            }
+        }
+        return findNoArgConstructor(type);
+    }
+
+    private ExecutableElement findNoArgConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    private boolean isInstantiable(TypeElement type, ExecutableElement constructor) {
+        if (constructor == null || type.getModifiers().contains(Modifier.ABSTRACT)
+                || constructor.getModifiers().contains(Modifier.PRIVATE) || throwsChecked(constructor)) {
+            return false;
+        }
+        if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<VariableElement> findFields(TypeElement type) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement current : getHierarchy(type)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getAnnotation(Autowired.class) == null) {
+                    continue;
+                }
+                if (!isAccessible(type, field) || field.getModifiers().contains(Modifier.FINAL)
+                        || field.getModifiers().contains(Modifier.STATIC) || isWrapped(field.asType())) {
+                    skip(type, field);
+                    return null;
+                }
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private List<ExecutableElement> findMethods(TypeElement type, Class<? extends Annotation> annotation) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (TypeElement current : getHierarchy(type)) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getAnnotation(annotation) != null) {
+                    methods.add(method);
+                }
+            }
+        }
+        return methods;
+    }
+
+    private List<TypeElement> getHierarchy(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.add(current);
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ?
+                    (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Generated factories live in the bean's package, so non-public members are only reachable when they are
+     * declared in that same package.
+     */
+    private boolean isAccessible(TypeElement type, Element member) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        PackageElement beanPackage = processingEnv.getElementUtils().getPackageOf(type);
+        PackageElement memberPackage = processingEnv.getElementUtils().getPackageOf(member);
+        return beanPackage.getQualifiedName().contentEquals(memberPackage.getQualifiedName());
+    }
+
+    private boolean hasWrappedParameter(ExecutableElement executable) {
+        for (VariableElement parameter : executable.getParameters()) {
+            if (isWrapped(parameter.asType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code Provider<T>}, {@code Optional<T>}, {@code List<T>}, {@code Map<String, T>} and array injection points
+     * are resolved from their type argument or component type, which only the reflective path reads.
+     */
+    private boolean isWrapped(TypeMirror type) {
+        String erasure = erasure(type);
+        return erasure.equals("dev.keva.ioc.core.Provider") || erasure.equals("java.util.Optional")
+                || erasure.equals("java.util.List") || erasure.equals("java.util.Map")
+                || type.getKind() == TypeKind.ARRAY;
+    }
+
+    /**
+     * Asynchronous {@code @Bean} methods are started and awaited by the container, which only the reflective
+     * path does.
+     */
+    private boolean isAsync(ExecutableElement method) {
+        String erasure = erasure(method.getReturnType());
+        return method.getAnnotation(AsyncInit.class) != null
+                || erasure.equals("java.util.concurrent.CompletableFuture")
+                || erasure.equals("java.util.concurrent.CompletionStage");
+    }
+
+    private boolean throwsChecked(ExecutableElement executable) {
+        TypeMirror runtimeException = processingEnv.getElementUtils().getTypeElement("java.lang.RuntimeException").asType();
+        TypeMirror error = processingEnv.getElementUtils().getTypeElement("java.lang.Error").asType();
+        for (TypeMirror thrown : executable.getThrownTypes()) {
+            if (!processingEnv.getTypeUtils().isAssignable(thrown, runtimeException)
+                    && !processingEnv.getTypeUtils().isAssignable(thrown, error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean skip(TypeElement type, Element member) {
+        if (skipped.add(type.getQualifiedName().toString()) && verbose) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No factory generated for " + type.getQualifiedName() + ", " + member.getSimpleName()
+                            + " needs reflection", member);
+        }
+        return false;
+    }
+
+    private String getSimpleFactoryName(TypeElement type, String suffix) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return BeanFactory.getFactoryName(simpleBinaryName + suffix);
+    }
+
+    private String getCanonicalName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String classLiteral(TypeMirror type) {
+        return erasure(type) + ".class";
+    }
+
+    private String qualifier(Element element) {
+        Qualifier qualifier = element.getAnnotation(Qualifier.class);
+        return qualifier == null ? "null" : "\"" + escape(qualifier.value()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,133 @@
+package dev.keva.ioc.processor;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Configuration;
+import dev.keva.ioc.core.ComponentIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Writes {@value ComponentIndex#LOCATION} at compile time, listing every {@code @Component} and
+ * {@code @Configuration} class of the compilation so that {@code KevaIoC} can skip classpath scanning.
+ * The processor is picked up automatically from the library jar.
+ * <p>
+ * With {@code -Akeva.ioc.codegen=true} it also generates a {@code BeanFactory} for every class that can be wired
+ * without reflection, and marks those classes in the index. The classes left to reflection are summed up in one
+ * note, {@code -Akeva.ioc.codegen.verbose=true} names each of them.
+ */
+@SupportedAnnotationTypes({
+        "dev.keva.ioc.annotation.Component",
+        "dev.keva.ioc.annotation.Configuration",
+        "dev.keva.ioc.annotation.Bean"
+})
+@SupportedOptions({ComponentIndexProcessor.CODEGEN_OPTION, ComponentIndexProcessor.VERBOSE_OPTION})
+public class ComponentIndexProcessor extends AbstractProcessor {
+    static final String CODEGEN_OPTION = "keva.ioc.codegen";
+    static final String VERBOSE_OPTION = "keva.ioc.codegen.verbose";
+
+    private final Set<String> components = new TreeSet<>();
+    private final Set<String> configurations = new TreeSet<>();
+    private final Set<String> factories = new TreeSet<>();
+    private final Set<String> skipped = new TreeSet<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        List<TypeElement> newComponents = collect(roundEnv.getElementsAnnotatedWith(Component.class), components);
+        List<TypeElement> newConfigurations = collect(roundEnv.getElementsAnnotatedWith(Configuration.class), configurations);
+        if (Boolean.parseBoolean(processingEnv.getOptions().get(CODEGEN_OPTION))) {
+            BeanFactoryWriter writer = new BeanFactoryWriter(processingEnv, isVerbose(), skipped);
+            for (TypeElement type : newComponents) {
+                if (writer.writeComponentFactory(type)) {
+                    factories.add(getBinaryName(type));
+                }
+            }
+            for (TypeElement type : newConfigurations) {
+                if (writer.writeConfigurationFactory(type)) {
+                    factories.add(getBinaryName(type));
+                }
+            }
+        }
+        for (Element method : roundEnv.getElementsAnnotatedWith(Bean.class)) {
+            Element type = method.getEnclosingElement();
+            if (type.getAnnotation(Configuration.class) == null && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "@Bean method is ignored because " + type.getSimpleName() + " is not a @Configuration class", method);
+            }
+        }
+        if (roundEnv.processingOver() && !originatingElements.isEmpty()) {
+            writeIndex();
+        }
+        if (roundEnv.processingOver() && !skipped.isEmpty() && !isVerbose()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No factory generated for "
+                    + skipped.size() + " classes needing reflection, -A" + VERBOSE_OPTION + "=true lists them");
+        }
+        return false;
+    }
+
+    private boolean isVerbose() {
+        return Boolean.parseBoolean(processingEnv.getOptions().get(VERBOSE_OPTION));
+    }
+
+    private List<TypeElement> collect(Set<? extends Element> elements, Set<String> target) {
+        List<TypeElement> types = new ArrayList<>();
+        for (Element element : elements) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            target.add(getBinaryName(type));
+            originatingElements.add(type);
+            types.add(type);
+        }
+        return types;
+    }
+
+    private String getBinaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    ComponentIndex.LOCATION, originatingElements.toArray(new Element[0]));
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by " + getClass().getName() + "\n");
+                for (String name : configurations) {
+                    writer.write(ComponentIndex.CONFIGURATION + " " + name + "\n");
+                }
+                for (String name : components) {
+                    writer.write(ComponentIndex.COMPONENT + " " + name + "\n");
+                }
+                for (String name : factories) {
+                    writer.write(ComponentIndex.FACTORY + " " + name + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + ComponentIndex.LOCATION + ": " + e.getMessage());
+        }
+    }
+}
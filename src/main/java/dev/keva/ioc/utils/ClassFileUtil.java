@@ -0,0 +1,139 @@
+package dev.keva.ioc.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Minimal class file reader: returns the class-level runtime-visible annotations of a class file without loading
+ * the class. Only the constant pool and the class attributes are decoded, fields and methods are skipped.
+ */
+public class ClassFileUtil {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    /**
+     * Returns the binary names of the class annotations, or an empty list when none of {@code descriptors}
+     * (in {@code Lpkg/Name;} form) occurs in the constant pool, which rejects most classes early.
+     */
+    public static List<String> getClassAnnotations(byte[] bytes, Set<String> descriptors) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort();
+        in.readUnsignedShort();
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        boolean candidate = false;
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8[i] = in.readUTF();
+                    candidate |= descriptors.contains(utf8[i]);
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    in.skipBytes(2);
+                    break;
+                case 15:
+                    in.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        if (!candidate) {
+            return Collections.emptyList();
+        }
+
+        in.skipBytes(6);
+        in.skipBytes(in.readUnsignedShort() * 2);
+        skipMembers(in);
+        skipMembers(in);
+
+        List<String> annotations = new ArrayList<>();
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            String name = utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                in.skipBytes(length);
+                continue;
+            }
+            int annotationCount = in.readUnsignedShort();
+            for (int j = 0; j < annotationCount; j++) {
+                String descriptor = utf8[in.readUnsignedShort()];
+                annotations.add(descriptor.substring(1, descriptor.length() - 1).replace('/', '.'));
+                skipElementValuePairs(in);
+            }
+        }
+        return annotations;
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(6);
+            int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.skipBytes(2);
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                in.skipBytes(4);
+                break;
+            case '@':
+                in.skipBytes(2);
+                skipElementValuePairs(in);
+                break;
+            case '[':
+                int values = in.readUnsignedShort();
+                for (int i = 0; i < values; i++) {
+                    skipElementValue(in);
+                }
+                break;
+            default:
+                in.skipBytes(2);
+                break;
+        }
+    }
+}
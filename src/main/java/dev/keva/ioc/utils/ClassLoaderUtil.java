@@ -1,69 +1,298 @@
 package dev.keva.ioc.utils;
 
-import java.io.File;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Configuration;
+import dev.keva.ioc.jfr.ContainerEvents;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+/**
+ * Single-pass classpath scanner. Class files are read as bytes and only classes annotated with a container
+ * annotation are loaded, without being initialized, so static initializers of other classes never run.
+ * <p>
+ * A package is scanned in every classpath root holding it, directories and jars alike, several roots in
+ * parallel. Jars are read entry by entry from their central directory through a {@link ZipFile} that is closed
+ * once the root is scanned.
+ */
 public class ClassLoaderUtil {
+    private static final String EXTENSION = ".class";
+    private static final Set<String> CONTAINER_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            Component.class.getName(), Configuration.class.getName()));
+    private static final Set<String> CONTAINER_DESCRIPTORS = new HashSet<>();
+
+    static {
+        for (String annotation : CONTAINER_ANNOTATIONS) {
+            CONTAINER_DESCRIPTORS.add("L" + annotation.replace('.', '/') + ";");
+        }
+    }
+
     public static List<Class<?>> getClasses(String packageName) throws IOException, URISyntaxException, ClassNotFoundException {
-        List<Class<?>> classes = new ArrayList<>();
-        String path = packageName.replace('.', '/');
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        URI pkg = Objects.requireNonNull(classLoader.getResource(path)).toURI();
-        if (pkg.toString().startsWith("jar:")) {
-            Path root;
-            try {
-                root = FileSystems.getFileSystem(pkg).getPath(path);
-            } catch (FileSystemNotFoundException e) {
-                root = FileSystems.newFileSystem(pkg, Collections.emptyMap()).getPath(path);
-            }
+        return getClasses(packageName, ClassNameFilter.ALL);
+    }
+
+    /**
+     * Returns the {@code @Component} and {@code @Configuration} classes of the package and its sub-packages
+     * accepted by the filter, sorted by name.
+     */
+    public static List<Class<?>> getClasses(String packageName, ClassNameFilter filter) throws IOException,
+            URISyntaxException, ClassNotFoundException {
+        return loadClasses(getClassNames(packageName, filter));
+    }
 
-            String extension = ".class";
-            try (Stream<Path> allPaths = Files.walk(root)) {
-                allPaths.filter(Files::isRegularFile).forEach(file -> {
+    public static List<String> getClassNames(String packageName, ClassNameFilter filter) throws IOException,
+            URISyntaxException {
+        Object event = ContainerEvents.INSTANCE.beginScan();
+        List<URI> roots = getRoots(packageName);
+        Set<String> classNames = new TreeSet<>();
+        long bytesRead = 0;
+        if (roots.size() == 1) {
+            bytesRead = scanRoot(roots.get(0), packageName, filter, classNames);
+        } else {
+            List<CompletableFuture<Set<String>>> scans = new ArrayList<>(roots.size());
+            long[] bytes = new long[roots.size()];
+            for (int i = 0; i < roots.size(); i++) {
+                int root = i;
+                scans.add(CompletableFuture.supplyAsync(() -> {
+                    Set<String> found = new HashSet<>();
                     try {
-                        String filePath = file.toString().replace('/', '.');
-                        String fileName = filePath.substring(filePath.indexOf(packageName), filePath.length() - extension.length());
-                        classes.add(Class.forName(fileName));
-                    } catch (ClassNotFoundException | StringIndexOutOfBoundsException ignored) {
+                        bytes[root] = scanRoot(roots.get(root), packageName, filter, found);
+                    } catch (IOException | URISyntaxException e) {
+                        throw new CompletionException(e);
                     }
-                });
+                    return found;
+                }));
             }
-        } else {
-            Enumeration<URL> resources = classLoader.getResources(path);
-            List<File> dirs = new ArrayList<>();
-            while (resources.hasMoreElements()) {
-                URL resource = resources.nextElement();
-                dirs.add(new File(resource.getFile()));
+            try {
+                for (CompletableFuture<Set<String>> scan : scans) {
+                    classNames.addAll(scan.join());
+                }
+            } catch (CompletionException e) {
+                rethrow(e.getCause());
             }
-            for (File directory : dirs) {
-                classes.addAll(findClasses(directory, packageName));
+            for (long rootBytes : bytes) {
+                bytesRead += rootBytes;
             }
         }
-        return classes;
+        ContainerEvents.INSTANCE.endScan(event, packageName, "scanner", classNames.size(), bytesRead);
+        return new ArrayList<>(classNames);
     }
 
-    private static List<Class<?>> findClasses(File directory, String packageName) throws ClassNotFoundException {
-        List<Class<?>> classes = new ArrayList<>();
-        if (!directory.exists()) {
-            return classes;
-        }
-        File[] files = directory.listFiles();
-        assert files != null;
-        for (File file : files) {
-            if (file.isDirectory()) {
-                assert !file.getName().contains(".");
-                classes.addAll(findClasses(file, packageName + "." + file.getName()));
-            } else if (file.getName().endsWith(".class")) {
-                String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
-                classes.add(Class.forName(className));
+    /**
+     * Returns the packages without duplicates and without the ones nested in another package of the list, which
+     * a scan of the enclosing package covers already. The order of first occurrence is kept.
+     */
+    public static List<String> getRootPackages(String... packageNames) {
+        List<String> roots = new ArrayList<>(packageNames.length);
+        for (String packageName : packageNames) {
+            boolean covered = false;
+            for (Iterator<String> iterator = roots.iterator(); iterator.hasNext(); ) {
+                String root = iterator.next();
+                if (contains(root, packageName)) {
+                    covered = true;
+                    break;
+                }
+                if (contains(packageName, root)) {
+                    iterator.remove();
+                }
             }
+            if (!covered) {
+                roots.add(packageName);
+            }
+        }
+        return roots;
+    }
+
+    private static boolean contains(String packageName, String nested) {
+        return packageName.isEmpty() || nested.equals(packageName) || nested.startsWith(packageName + ".");
+    }
+
+    /**
+     * Returns every classpath root holding the package, each once.
+     */
+    private static List<URI> getRoots(String packageName) throws IOException, URISyntaxException {
+        Set<URI> roots = new LinkedHashSet<>();
+        Enumeration<URL> resources = Thread.currentThread().getContextClassLoader()
+                .getResources(packageName.replace('.', '/'));
+        while (resources.hasMoreElements()) {
+            roots.add(resources.nextElement().toURI());
+        }
+        return new ArrayList<>(roots);
+    }
+
+    /**
+     * Adds the matching classes of the package in one root and returns the number of class file bytes read. A
+     * jar nested in another one, or served by another file system, is opened as a zip file system for the
+     * duration of the scan.
+     */
+    private static long scanRoot(URI pkg, String packageName, ClassNameFilter filter, Set<String> classNames)
+            throws IOException, URISyntaxException {
+        String uri = pkg.toString();
+        String path = packageName.replace('.', '/');
+        if (!uri.startsWith("jar:")) {
+            return findClasses(Paths.get(pkg), packageName, filter, classNames);
+        }
+        int separator = uri.indexOf("!/");
+        if (uri.startsWith("jar:file:") && separator == uri.lastIndexOf("!/")) {
+            return findJarClasses(Paths.get(new URI(uri.substring("jar:".length(), separator))), path, filter,
+                    classNames);
+        }
+        try {
+            return findClasses(FileSystems.getFileSystem(pkg).getPath(path).toAbsolutePath(), packageName, filter,
+                    classNames);
+        } catch (FileSystemNotFoundException e) {
+            try (FileSystem fileSystem = FileSystems.newFileSystem(pkg, Collections.emptyMap())) {
+                return findClasses(fileSystem.getPath(path).toAbsolutePath(), packageName, filter, classNames);
+            }
+        }
+    }
+
+    private static void rethrow(Throwable cause) throws IOException, URISyntaxException {
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof URISyntaxException) {
+            throw (URISyntaxException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw (Error) cause;
+    }
+
+    public static List<Class<?>> loadClasses(List<String> classNames) throws ClassNotFoundException {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            classes.add(Class.forName(className, false, classLoader));
         }
         return classes;
     }
+
+    /**
+     * Cheap fingerprint of everything a scan of the package would read: path, size and modification time of
+     * each jar, and of each file below the package in class directories. No class file is opened.
+     */
+    public static long getFingerprint(String packageName) throws IOException, URISyntaxException {
+        long fingerprint = 1125899906842597L;
+        for (URI root : getRoots(packageName)) {
+            String pkg = root.toString();
+            if (pkg.startsWith("jar:")) {
+                Path jar = Paths.get(new URI(pkg.substring("jar:".length(), pkg.indexOf("!/"))));
+                fingerprint = 31 * fingerprint + fingerprint(jar);
+                continue;
+            }
+            try (Stream<Path> allPaths = Files.walk(Paths.get(new URI(pkg)))) {
+                Iterator<Path> iterator = allPaths.iterator();
+                while (iterator.hasNext()) {
+                    fingerprint = 31 * fingerprint + fingerprint(iterator.next());
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    private static long fingerprint(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return 31 * (31L * file.toString().hashCode() + attributes.size()) + attributes.lastModifiedTime().toMillis();
+    }
+
+    /**
+     * Adds the matching classes below the root and returns the number of class file bytes read.
+     */
+    private static long findClasses(Path root, String packageName, ClassNameFilter filter, Set<String> classNames)
+            throws IOException {
+        long bytesRead = 0;
+        try (Stream<Path> allPaths = Files.walk(root)) {
+            Iterator<Path> iterator = allPaths.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(EXTENSION) || fileName.equals("module-info.class")
+                        || fileName.equals("package-info.class") || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                String relative = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+                relative = relative.substring(0, relative.length() - EXTENSION.length());
+                String className = packageName.isEmpty() ? relative : packageName + "." + relative;
+                if (!filter.matches(className)) {
+                    continue;
+                }
+                byte[] bytes = Files.readAllBytes(file);
+                bytesRead += bytes.length;
+                addContainerClass(className, bytes, classNames);
+            }
+        }
+        return bytesRead;
+    }
+
+    /**
+     * Adds the matching classes below the path of the jar, reading only the entries whose name matches, and
+     * returns the number of class file bytes read.
+     */
+    private static long findJarClasses(Path jar, String path, ClassNameFilter filter, Set<String> classNames)
+            throws IOException {
+        String prefix = path.isEmpty() ? "" : path + "/";
+        long bytesRead = 0;
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || !name.startsWith(prefix) || !name.endsWith(EXTENSION)
+                        || name.startsWith("META-INF/") || name.endsWith("/module-info.class")
+                        || name.equals("module-info.class") || name.endsWith("package-info.class")) {
+                    continue;
+                }
+                String className = name.substring(0, name.length() - EXTENSION.length()).replace('/', '.');
+                if (!filter.matches(className)) {
+                    continue;
+                }
+                byte[] bytes = readEntry(zip, entry);
+                bytesRead += bytes.length;
+                addContainerClass(className, bytes, classNames);
+            }
+        }
+        return bytesRead;
+    }
+
+    private static byte[] readEntry(ZipFile zip, ZipEntry entry) throws IOException {
+        try (InputStream in = zip.getInputStream(entry)) {
+            long size = entry.getSize();
+            byte[] bytes = new byte[size >= 0 ? (int) size : 8192];
+            int length = 0;
+            int read;
+            while ((read = in.read(bytes, length, bytes.length - length)) > 0) {
+                length += read;
+                if (length == bytes.length) {
+                    if (size >= 0) {
+                        break;
+                    }
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+            }
+            return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static void addContainerClass(String className, byte[] bytes, Set<String> classNames)
+            throws IOException {
+        for (String annotation : ClassFileUtil.getClassAnnotations(bytes, CONTAINER_DESCRIPTORS)) {
+            if (CONTAINER_ANNOTATIONS.contains(annotation)) {
+                classNames.add(className);
+                break;
+            }
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package dev.keva.ioc.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Include and exclude patterns on fully qualified class names. {@code *} matches within a package segment,
+ * {@code **} across segments, e.g. {@code com.acme.**.internal.*}. Without include patterns every class
+ * is included, excludes win over includes.
+ */
+public class ClassNameFilter {
+    public static final ClassNameFilter ALL = new ClassNameFilter(new String[0], new String[0]);
+
+    private final List<Pattern> includes;
+    private final List<Pattern> excludes;
+    private final String description;
+
+    public ClassNameFilter(String[] includes, String[] excludes) {
+        this.includes = compile(includes);
+        this.excludes = compile(excludes);
+        this.description = "include" + Arrays.toString(includes) + " exclude" + Arrays.toString(excludes);
+    }
+
+    public boolean matches(String className) {
+        for (Pattern exclude : excludes) {
+            if (exclude.matcher(className).matches()) {
+                return false;
+            }
+        }
+        if (includes.isEmpty()) {
+            return true;
+        }
+        for (Pattern include : includes) {
+            if (include.matcher(className).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static List<Pattern> compile(String[] globs) {
+        List<Pattern> patterns = new ArrayList<>(globs.length);
+        for (String glob : globs) {
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else if (c == '*') {
+                    regex.append("[^.]*");
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            patterns.add(Pattern.compile(regex.toString()));
+        }
+        return patterns;
+    }
+}
@@ -1,8 +1,10 @@
 package dev.keva.ioc.utils;
 
 import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Qualifier;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -20,6 +22,11 @@ public class FinderUtil {
         return null;
     }
 
+    public static String findQualifier(AnnotatedElement element) {
+        Qualifier qualifier = element.getAnnotation(Qualifier.class);
+        return qualifier != null ? qualifier.value() : null;
+    }
+
     public static Set<Field> findFields(Class<?> clazz, Class<? extends Annotation> annotationClass) {
         Set<Field> set = new HashSet<>();
         while (clazz != null) {
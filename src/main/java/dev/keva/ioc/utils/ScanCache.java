@@ -0,0 +1,123 @@
+package dev.keva.ioc.utils;
+
+import dev.keva.ioc.jfr.ContainerEvents;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists the result of {@link ClassLoaderUtil} scans in a directory, so that a later start with an unchanged
+ * classpath reads one small file instead of every class file. Each package and filter has its own cache file,
+ * which is only used while the package and filter stored in it and the fingerprint of the scanned roots match, so
+ * keys whose file names collide never read each other's class names.
+ */
+public class ScanCache {
+    private static final int MAGIC = 0x4B455641;
+    private static final int VERSION = 2;
+
+    private final Path directory;
+
+    public ScanCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public List<Class<?>> getClasses(String packageName, ClassNameFilter filter) throws IOException,
+            URISyntaxException, ClassNotFoundException {
+        Object event = ContainerEvents.INSTANCE.beginScan();
+        long fingerprint = ClassLoaderUtil.getFingerprint(packageName);
+        String key = getKey(packageName, filter);
+        Path file = getFile(packageName, filter);
+        List<String> classNames = read(file, key, fingerprint);
+        if (classNames == null) {
+            classNames = ClassLoaderUtil.getClassNames(packageName, filter);
+            write(file, key, fingerprint, classNames);
+        } else {
+            ContainerEvents.INSTANCE.endScan(event, packageName, "scanCache", classNames.size(), Files.size(file));
+        }
+        return ClassLoaderUtil.loadClasses(classNames);
+    }
+
+    public Path getFile(String packageName, ClassNameFilter filter) {
+        String key = getKey(packageName, filter);
+        return directory.resolve("keva-scan-" + Integer.toHexString(key.hashCode()) + ".bin");
+    }
+
+    private static String getKey(String packageName, ClassNameFilter filter) {
+        return packageName + " " + filter;
+    }
+
+    /**
+     * Returns the cached class names, or {@code null} when the file is missing, stale, unreadable or written for
+     * another key.
+     */
+    private static List<String> read(Path file, String key, long fingerprint) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != fingerprint) {
+                return null;
+            }
+            byte[] storedKey = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(storedKey);
+            if (!key.equals(new String(storedKey, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            int count = buffer.getInt();
+            List<String> classNames = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                classNames.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return classNames;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void write(Path file, String key, long fingerprint, List<String> classNames) {
+        Path temp = null;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fingerprint);
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(keyBytes.length);
+            out.write(keyBytes);
+            out.writeInt(classNames.size());
+            for (String className : classNames) {
+                byte[] name = className.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+            }
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+        } catch (IOException ignored) {
+            // The cache is an optimization only, the next start scans again
+        } finally {
+            // The move fails on Windows while a previous start still maps the cache file
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // Left for the next start to overwrite the cache file
+                }
+            }
+        }
+    }
+}
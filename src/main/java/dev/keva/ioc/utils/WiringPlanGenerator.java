@@ -0,0 +1,49 @@
+package dev.keva.ioc.utils;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.WiringPlan;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the {@link WiringPlan} of an application at build time, run with the application on the classpath:
+ * <pre>
+ * WiringPlanGenerator [--include=pattern]... [--exclude=pattern]... &lt;main class&gt; &lt;output file&gt;
+ * </pre>
+ * Resolving the plan creates no bean, the main class is loaded without being initialized.
+ */
+public class WiringPlanGenerator {
+    private static final String INCLUDE = "--include=";
+    private static final String EXCLUDE = "--exclude=";
+
+    public static void main(String[] args) throws Exception {
+        List<String> includes = new ArrayList<>();
+        List<String> excludes = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(INCLUDE)) {
+                includes.add(arg.substring(INCLUDE.length()));
+            } else if (arg.startsWith(EXCLUDE)) {
+                excludes.add(arg.substring(EXCLUDE.length()));
+            } else {
+                arguments.add(arg);
+            }
+        }
+        if (arguments.size() != 2) {
+            System.err.println("Usage: WiringPlanGenerator [--include=pattern]... [--exclude=pattern]... "
+                    + "<main class> <output file>");
+            System.exit(2);
+        }
+        Class<?> mainClass = Class.forName(arguments.get(0), false, Thread.currentThread().getContextClassLoader());
+        Path output = Paths.get(arguments.get(1));
+        KevaIoC.builder(mainClass)
+                .include(includes.toArray(new String[0]))
+                .exclude(excludes.toArray(new String[0]))
+                .plan()
+                .write(output);
+        System.out.println("Wrote wiring plan of " + mainClass.getName() + " to " + output);
+    }
+}
@@ -0,0 +1,66 @@
+package dev.keva.ioc.aot;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.WiringPlan;
+import dev.keva.ioc.exception.IoCException;
+import dev.keva.ioc.utils.WiringPlanGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AotTest {
+
+    @Test
+    void testPlanResolvedWithoutCreatingBeans() {
+        WiringPlan plan = KevaIoC.builder(AotTest.class).plan();
+        List<List<WiringPlan.Definition>> groups = plan.getGroups();
+        assertEquals(TaxConfiguration.class.getName(), groups.get(0).get(0).getClassName());
+
+        WiringPlan.Definition checkout = null;
+        for (List<WiringPlan.Definition> group : groups) {
+            for (WiringPlan.Definition definition : group) {
+                if (definition.getClassName().equals(Checkout.class.getName())) {
+                    checkout = definition;
+                    assertEquals(2, group.size());
+                }
+            }
+        }
+        assertNotNull(checkout);
+        assertEquals(SqlCatalog.class.getName(), checkout.getDependencies().get(0));
+        assertTrue(checkout.getDependencies().contains(AuditLog.class.getName()));
+        assertEquals(4, checkout.getDependencies().size());
+        assertTrue(checkout.getDependencies().contains(null));
+    }
+
+    @Test
+    void testPlanReplayed() throws Exception {
+        Path file = Files.createTempDirectory("keva-plan").resolve("wiring.plan");
+        WiringPlanGenerator.main(new String[]{AotTest.class.getName(), file.toString()});
+        KevaIoC context = KevaIoC.fromPlan(WiringPlan.read(file));
+
+        Checkout checkout = context.getBean(Checkout.class);
+        assertEquals(33, checkout.total("abc"));
+        assertSame(checkout, checkout.getPricing().getCheckout());
+        assertSame(context.getBean(SqlCatalog.class), context.getBean(Catalog.class));
+        assertEquals(1, context.getBean(AuditLog.class).getEntries().size());
+        assertTrue(context.getStartupReport().getPhases().isEmpty());
+    }
+
+    @Test
+    void testChangedClassRejected() throws Exception {
+        StringWriter writer = new StringWriter();
+        KevaIoC.builder(AotTest.class).plan().write(writer);
+        String stale = writer.toString().replaceAll("checksum " + Checkout.class.getName() + " \\w+",
+                "checksum " + Checkout.class.getName() + " 0");
+        WiringPlan plan = WiringPlan.read(new StringReader(stale));
+
+        IoCException e = assertThrows(IoCException.class, () -> KevaIoC.fromPlan(plan));
+        assertTrue(e.getMessage().contains(Checkout.class.getName() + " has changed"));
+    }
+}
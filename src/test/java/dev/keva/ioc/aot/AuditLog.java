@@ -0,0 +1,16 @@
+package dev.keva.ioc.aot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditLog {
+    private final List<String> entries = new ArrayList<>();
+
+    public void record(String entry) {
+        entries.add(entry);
+    }
+
+    public List<String> getEntries() {
+        return entries;
+    }
+}
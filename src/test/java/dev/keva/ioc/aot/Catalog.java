@@ -0,0 +1,5 @@
+package dev.keva.ioc.aot;
+
+public interface Catalog {
+    int price(String item);
+}
@@ -0,0 +1,35 @@
+package dev.keva.ioc.aot;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+import java.util.Optional;
+
+@Component
+public class Checkout {
+    private final Catalog catalog;
+
+    @Autowired
+    Pricing pricing;
+
+    @Autowired
+    AuditLog auditLog;
+
+    @Autowired
+    Optional<Runnable> hook;
+
+    @Autowired
+    public Checkout(Catalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public int total(String item) {
+        auditLog.record(item);
+        hook.ifPresent(Runnable::run);
+        return pricing.withTax(catalog.price(item));
+    }
+
+    public Pricing getPricing() {
+        return pricing;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.keva.ioc.aot;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Pricing {
+    @Autowired
+    TaxTable taxTable;
+
+    @Autowired
+    Checkout checkout;
+
+    public int withTax(int amount) {
+        return taxTable.apply(amount);
+    }
+
+    public Checkout getCheckout() {
+        return checkout;
+    }
+}
@@ -0,0 +1,11 @@
+package dev.keva.ioc.aot;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class SqlCatalog implements Catalog {
+    @Override
+    public int price(String item) {
+        return item.length() * 10;
+    }
+}
@@ -0,0 +1,12 @@
+package dev.keva.ioc.aot;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class TaxConfiguration {
+    @Bean
+    public TaxTable taxTable() {
+        return new TaxTable();
+    }
+}
@@ -0,0 +1,7 @@
+package dev.keva.ioc.aot;
+
+public class TaxTable {
+    public int apply(int amount) {
+        return amount + amount / 10;
+    }
+}
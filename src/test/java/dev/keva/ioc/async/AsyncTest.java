@@ -0,0 +1,60 @@
+package dev.keva.ioc.async;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncTest {
+    @BeforeEach
+    void reset() {
+        Bootstrap.created = new CountDownLatch(1);
+    }
+
+    @Test
+    void testAsyncBeansOverlapStartup() {
+        KevaIoC context = KevaIoC.builder(AsyncTest.class).exclude("dev.keva.ioc.async.failing.*").build();
+        Repository repository = context.getBean(Repository.class);
+
+        assertTrue(repository.pool.overlapped);
+        assertNotEquals(Thread.currentThread().getName(), repository.pool.thread);
+        assertSame(context.getBean(ConnectionPool.class), repository.pool);
+        assertEquals("classifier", repository.model.name);
+        assertSame(context.getBean(Model.class), repository.model);
+    }
+
+    @Test
+    void testInitBeansAsync() throws Exception {
+        CompletableFuture<KevaIoC> stage = KevaIoC.builder(AsyncTest.class)
+                .exclude("dev.keva.ioc.async.failing.*")
+                .buildAsync()
+                .toCompletableFuture();
+        KevaIoC context = stage.get(10, TimeUnit.SECONDS);
+        assertNotNull(context.getBean(ConnectionPool.class));
+        assertTrue(context.getStartupReport().getTotalNanos() > 0);
+    }
+
+    @Test
+    void testFailedInitialization() {
+        IoCException e = assertThrows(IoCException.class, () -> KevaIoC.initBeans(FailingApplication.class));
+        assertTrue(e.getMessage().contains("Certificates"));
+        assertTrue(e.getCause() instanceof UncheckedIOException);
+
+        ExecutionException async = assertThrows(ExecutionException.class,
+                () -> KevaIoC.initBeansAsync(FailingApplication.class).toCompletableFuture().get(10, TimeUnit.SECONDS));
+        assertTrue(async.getCause() instanceof IoCException);
+    }
+
+    @ComponentScan("dev.keva.ioc.async.failing")
+    static class FailingApplication {
+    }
+}
@@ -0,0 +1,14 @@
+package dev.keva.ioc.async;
+
+import dev.keva.ioc.annotation.Component;
+
+import java.util.concurrent.CountDownLatch;
+
+@Component
+public class Bootstrap {
+    static volatile CountDownLatch created = new CountDownLatch(1);
+
+    public Bootstrap() {
+        created.countDown();
+    }
+}
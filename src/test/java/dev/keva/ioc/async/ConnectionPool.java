@@ -0,0 +1,11 @@
+package dev.keva.ioc.async;
+
+public class ConnectionPool {
+    final String thread;
+    final boolean overlapped;
+
+    public ConnectionPool(String thread, boolean overlapped) {
+        this.thread = thread;
+        this.overlapped = overlapped;
+    }
+}
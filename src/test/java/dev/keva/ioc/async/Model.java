@@ -0,0 +1,9 @@
+package dev.keva.ioc.async;
+
+public class Model {
+    final String name;
+
+    public Model(String name) {
+        this.name = name;
+    }
+}
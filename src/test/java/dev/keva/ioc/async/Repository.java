@@ -0,0 +1,13 @@
+package dev.keva.ioc.async;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Repository {
+    @Autowired
+    ConnectionPool pool;
+
+    @Autowired
+    Model model;
+}
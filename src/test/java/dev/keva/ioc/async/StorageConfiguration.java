@@ -0,0 +1,24 @@
+package dev.keva.ioc.async;
+
+import dev.keva.ioc.annotation.AsyncInit;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class StorageConfiguration {
+    @Bean
+    @AsyncInit
+    public ConnectionPool connectionPool() throws InterruptedException {
+        // Completes only if the components are created while the pool is opening
+        boolean overlapped = Bootstrap.created.await(5, TimeUnit.SECONDS);
+        return new ConnectionPool(Thread.currentThread().getName(), overlapped);
+    }
+
+    @Bean
+    public CompletableFuture<Model> model() {
+        return CompletableFuture.supplyAsync(() -> new Model("classifier"));
+    }
+}
@@ -0,0 +1,17 @@
+package dev.keva.ioc.async.failing;
+
+import dev.keva.ioc.annotation.AsyncInit;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@Configuration
+public class CertificateConfiguration {
+    @Bean
+    @AsyncInit
+    public Certificates certificates() {
+        throw new UncheckedIOException(new IOException("keystore not found"));
+    }
+}
@@ -0,0 +1,4 @@
+package dev.keva.ioc.async.failing;
+
+public class Certificates {
+}
@@ -0,0 +1,58 @@
+package dev.keva.ioc.beankey;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.BeanKey;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BeanKeyTest {
+    private KevaIoC context;
+
+    @BeforeEach
+    void setup() {
+        Ledger.INSTANCES.set(0);
+        context = KevaIoC.initBeans(BeanKeyTest.class);
+    }
+
+    @Test
+    void testKeyResolvesInterface() {
+        BeanKey<Clock> key = context.getBeanKey(Clock.class);
+        assertEquals(FixedClock.class, key.getImplementationClass());
+        assertSame(context.getBean(Clock.class), key.get());
+        assertSame(key.get(), key.get());
+        assertEquals(key.getSlot(), context.getBeanKey(FixedClock.class).getSlot());
+    }
+
+    @Test
+    void testLazyBeanCreatedOnFirstGet() {
+        BeanKey<Ledger> key = context.getBeanKey(Ledger.class);
+        assertEquals(0, Ledger.INSTANCES.get());
+        Ledger ledger = key.get();
+        assertEquals(1, Ledger.INSTANCES.get());
+        assertSame(ledger, key.get());
+        assertSame(ledger, context.getBean(Ledger.class));
+        assertSame(context.getBean(Clock.class), ledger.clock);
+        assertEquals(1, Ledger.INSTANCES.get());
+    }
+
+    @Test
+    void testPrototypeNeverCached() {
+        BeanKey<Entry> key = context.getBeanKey(Entry.class);
+        assertNotSame(key.get(), key.get());
+    }
+
+    @Test
+    void testChildKeyFallsThroughToParent() {
+        KevaIoC child = context.createChild();
+        assertSame(context.getBean(Clock.class), child.getBeanKey(Clock.class).get());
+    }
+
+    @Test
+    void testUnknownBean() {
+        assertThrows(IoCException.class, () -> context.getBeanKey(Runnable.class));
+        assertThrows(IoCException.class, () -> context.getBeanKey(String.class));
+    }
+}
@@ -0,0 +1,5 @@
+package dev.keva.ioc.beankey;
+
+public interface Clock {
+    long now();
+}
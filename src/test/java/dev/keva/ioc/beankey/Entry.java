@@ -0,0 +1,9 @@
+package dev.keva.ioc.beankey;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Scope;
+
+@Component
+@Scope(Scope.PROTOTYPE)
+public class Entry {
+}
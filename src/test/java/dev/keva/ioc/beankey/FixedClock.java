@@ -0,0 +1,10 @@
+package dev.keva.ioc.beankey;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class FixedClock implements Clock {
+    public long now() {
+        return 42;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.keva.ioc.beankey;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Lazy
+@Component
+public class Ledger {
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Autowired
+    Clock clock;
+
+    public Ledger() {
+        INSTANCES.incrementAndGet();
+    }
+}
@@ -0,0 +1,51 @@
+package dev.keva.ioc.child;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChildTest {
+    static KevaIoC parent;
+
+    @BeforeAll
+    static void init() {
+        parent = KevaIoC.initBeans(ChildTest.class);
+    }
+
+    @Test
+    void testParentBeansShared() {
+        KevaIoC child = parent.createChild();
+        assertSame(parent.getBean(Directory.class), child.getBean(Directory.class));
+        assertSame(parent.getBean(Greeter.class), child.getBean(Greeter.class));
+        assertSame(child, child.getBean(KevaIoC.class));
+        assertSame(parent, child.getParent());
+    }
+
+    @Test
+    void testChildBeansOverrideParent() {
+        Greeter tenantGreeter = name -> "Welcome back " + name;
+        KevaIoC child = parent.createChild(tenantGreeter, TenantGreeting.class);
+        assertSame(tenantGreeter, child.getBean(Greeter.class));
+        assertEquals("Welcome back ALICE", child.getBean(TenantGreeting.class).greet("alice"));
+        // Parent beans keep the wiring they were created with
+        assertSame(parent.getBean(Greeter.class), child.getBean(Welcome.class).getGreeter());
+        assertFalse(parent.getBean(Greeter.class) == tenantGreeter);
+    }
+
+    @Test
+    void testChildrenIsolated() {
+        KevaIoC first = parent.createChild((Greeter) name -> "first " + name, TenantGreeting.class);
+        KevaIoC second = parent.createChild((Greeter) name -> "second " + name, TenantGreeting.class);
+        assertEquals("first BOB", first.getBean(TenantGreeting.class).greet("bob"));
+        assertEquals("second BOB", second.getBean(TenantGreeting.class).greet("bob"));
+        assertNotSame(first.getBean(TenantGreeting.class), second.getBean(TenantGreeting.class));
+        assertThrows(IoCException.class, () -> parent.getBean(TenantGreeting.class));
+
+        KevaIoC grandchild = first.createChild();
+        assertSame(first.getBean(TenantGreeting.class), grandchild.getBean(TenantGreeting.class));
+        assertSame(parent.getBean(Directory.class), grandchild.getBean(Directory.class));
+    }
+}
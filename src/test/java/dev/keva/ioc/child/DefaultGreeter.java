@@ -0,0 +1,11 @@
+package dev.keva.ioc.child;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class DefaultGreeter implements Greeter {
+    @Override
+    public String greet(String name) {
+        return "Hello " + name;
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.child;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Directory {
+    public String lookup(String id) {
+        return id.toUpperCase();
+    }
+}
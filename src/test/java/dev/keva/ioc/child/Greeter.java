@@ -0,0 +1,5 @@
+package dev.keva.ioc.child;
+
+public interface Greeter {
+    String greet(String name);
+}
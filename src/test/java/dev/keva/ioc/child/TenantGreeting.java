@@ -0,0 +1,18 @@
+package dev.keva.ioc.child;
+
+import dev.keva.ioc.annotation.Autowired;
+
+public class TenantGreeting {
+    private final Greeter greeter;
+    private final Directory directory;
+
+    @Autowired
+    public TenantGreeting(Greeter greeter, Directory directory) {
+        this.greeter = greeter;
+        this.directory = directory;
+    }
+
+    public String greet(String id) {
+        return greeter.greet(directory.lookup(id));
+    }
+}
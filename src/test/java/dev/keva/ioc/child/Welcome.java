@@ -0,0 +1,14 @@
+package dev.keva.ioc.child;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Welcome {
+    @Autowired
+    Greeter greeter;
+
+    public Greeter getGreeter() {
+        return greeter;
+    }
+}
@@ -0,0 +1,30 @@
+package dev.keva.ioc.collection;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class Browser {
+    final List<Engine> engineList;
+
+    @Autowired
+    Engine[] engineArray;
+
+    @Autowired
+    List<Plugin> plugins;
+
+    Map<String, Engine> engineMap;
+
+    @Autowired
+    public Browser(List<Engine> engineList) {
+        this.engineList = engineList;
+    }
+
+    @Autowired
+    public void setEngineMap(Map<String, Engine> engineMap) {
+        this.engineMap = engineMap;
+    }
+}
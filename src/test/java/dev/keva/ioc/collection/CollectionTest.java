@@ -0,0 +1,51 @@
+package dev.keva.ioc.collection;
+
+import dev.keva.ioc.KevaIoC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionTest {
+    private static final List<String> ORDER = Arrays.asList("V8", "QuickJS", "Rhino", "SpiderMonkey");
+
+    @Test
+    void testAllImplementationsInjectedInOrder() {
+        KevaIoC context = KevaIoC.initBeans(CollectionTest.class);
+        Browser browser = context.getBean(Browser.class);
+
+        assertEquals(ORDER, names(browser.engineList));
+        assertEquals(ORDER, names(Arrays.asList(browser.engineArray)));
+        assertEquals(Arrays.asList("v8Engine", "quickJsEngine", "rhino", "spiderMonkeyEngine"),
+                new ArrayList<>(browser.engineMap.keySet()));
+        assertSame(context.getBean(V8Engine.class), browser.engineList.get(0));
+        assertSame(context.getBean(SpiderMonkeyEngine.class), browser.engineMap.get("spiderMonkeyEngine"));
+        assertTrue(browser.plugins.isEmpty());
+    }
+
+    @Test
+    void testCollectionsImmutable() {
+        Browser browser = KevaIoC.initBeans(CollectionTest.class).getBean(Browser.class);
+        assertThrows(UnsupportedOperationException.class, () -> browser.engineList.add(new V8Engine()));
+        assertThrows(UnsupportedOperationException.class, () -> browser.engineMap.clear());
+    }
+
+    @Test
+    void testReplayedAndParallel() {
+        KevaIoC replayed = KevaIoC.fromPlan(KevaIoC.builder(CollectionTest.class).plan());
+        assertEquals(ORDER, names(replayed.getBean(Browser.class).engineList));
+        KevaIoC parallel = KevaIoC.builder(CollectionTest.class).parallel().build();
+        assertEquals(ORDER, names(Arrays.asList(parallel.getBean(Browser.class).engineArray)));
+    }
+
+    private static List<String> names(List<Engine> engines) {
+        List<String> names = new ArrayList<>();
+        for (Engine engine : engines) {
+            names.add(engine.getName());
+        }
+        return names;
+    }
+}
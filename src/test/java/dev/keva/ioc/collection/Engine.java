@@ -0,0 +1,5 @@
+package dev.keva.ioc.collection;
+
+public interface Engine {
+    String getName();
+}
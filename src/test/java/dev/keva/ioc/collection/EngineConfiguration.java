@@ -0,0 +1,12 @@
+package dev.keva.ioc.collection;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class EngineConfiguration {
+    @Bean("rhino")
+    public Engine rhino() {
+        return () -> "Rhino";
+    }
+}
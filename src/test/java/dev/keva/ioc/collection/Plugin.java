@@ -0,0 +1,4 @@
+package dev.keva.ioc.collection;
+
+public interface Plugin {
+}
@@ -0,0 +1,12 @@
+package dev.keva.ioc.collection;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Order;
+
+@Order(2)
+@Component
+public class QuickJsEngine implements Engine {
+    public String getName() {
+        return "QuickJS";
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.collection;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class SpiderMonkeyEngine implements Engine {
+    public String getName() {
+        return "SpiderMonkey";
+    }
+}
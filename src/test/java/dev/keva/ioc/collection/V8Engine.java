@@ -0,0 +1,12 @@
+package dev.keva.ioc.collection;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Order;
+
+@Order(1)
+@Component
+public class V8Engine implements Engine {
+    public String getName() {
+        return "V8";
+    }
+}
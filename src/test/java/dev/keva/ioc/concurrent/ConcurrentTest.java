@@ -0,0 +1,81 @@
+package dev.keva.ioc.concurrent;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.core.CreationLatches;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ComponentScan("dev.keva.ioc.concurrent")
+public class ConcurrentTest {
+    private static final int THREADS = 16;
+
+    @Test
+    void testConcurrentGetBean() throws Exception {
+        KevaIoC kevaIoC = KevaIoC.initBeans(ConcurrentTest.class);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Counter>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS * 100; i++) {
+                futures.add(executor.submit(() -> {
+                    Counter counter = kevaIoC.getBean(Counter.class);
+                    counter.increment();
+                    return counter;
+                }));
+            }
+            Counter expected = kevaIoC.getBean(Counter.class);
+            for (Future<Counter> future : futures) {
+                assertSame(expected, future.get());
+            }
+            assertEquals(THREADS * 100 + 1, expected.increment());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testBeanCreatedOnce() throws Exception {
+        CreationLatches latches = new CreationLatches();
+        AtomicInteger creations = new AtomicInteger();
+        AtomicReference<Object> published = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    if (published.get() != null) {
+                        return published.get();
+                    }
+                    CreationLatches.Latch latch = latches.acquire(Counter.class);
+                    if (latch.isHeldByCurrentThread()) {
+                        if (published.get() == null) {
+                            creations.incrementAndGet();
+                            Thread.sleep(20);
+                            published.set(new Counter());
+                        }
+                        latches.complete(latch, published.get());
+                    }
+                    return latch.getInstance();
+                }));
+            }
+            start.countDown();
+            Object first = futures.get(0).get();
+            for (Future<Object> future : futures) {
+                assertSame(first, future.get());
+            }
+            assertEquals(1, creations.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
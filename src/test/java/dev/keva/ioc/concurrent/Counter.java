@@ -0,0 +1,14 @@
+package dev.keva.ioc.concurrent;
+
+import dev.keva.ioc.annotation.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class Counter {
+    private final AtomicInteger count = new AtomicInteger();
+
+    public int increment() {
+        return count.incrementAndGet();
+    }
+}
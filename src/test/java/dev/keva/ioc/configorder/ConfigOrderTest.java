@@ -0,0 +1,48 @@
+package dev.keva.ioc.configorder;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.exception.IoCBeanNotFound;
+import dev.keva.ioc.exception.IoCCircularDepException;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ComponentScan("dev.keva.ioc.configorder")
+public class ConfigOrderTest {
+
+    @Test
+    void testConfigurationsCreatedInDependencyOrder() {
+        KevaIoC kevaIoC = KevaIoC.builder(ConfigOrderTest.class)
+                .exclude("dev.keva.ioc.configorder.cycle.*", "dev.keva.ioc.configorder.missing.*")
+                .build();
+        assertEquals("report!", kevaIoC.getBean(Report.class).render());
+        assertEquals(1, SettingsConfiguration.calls.get());
+        assertEquals(1, FormatterConfiguration.calls.get());
+        assertEquals(1, ReportConfiguration.calls.get());
+    }
+
+    @Test
+    void testCycleFailsWithPath() {
+        IoCException e = assertThrows(IoCException.class, () -> KevaIoC.initBeans(CycleApplication.class));
+        assertTrue(e.getCause() instanceof IoCCircularDepException);
+        assertTrue(e.getCause().getMessage().contains("PingConfiguration -> PongConfiguration -> PingConfiguration")
+                || e.getCause().getMessage().contains("PongConfiguration -> PingConfiguration -> PongConfiguration"));
+    }
+
+    @Test
+    void testMissingDependencyFailsFast() {
+        IoCException e = assertThrows(IoCException.class, () -> KevaIoC.initBeans(MissingApplication.class));
+        assertTrue(e.getCause() instanceof IoCBeanNotFound);
+        assertTrue(e.getCause().getMessage().contains("GatewayConfiguration"));
+    }
+
+    @ComponentScan("dev.keva.ioc.configorder.cycle")
+    static class CycleApplication {
+    }
+
+    @ComponentScan("dev.keva.ioc.configorder.missing")
+    static class MissingApplication {
+    }
+}
@@ -0,0 +1,13 @@
+package dev.keva.ioc.configorder;
+
+public class Formatter {
+    private final Settings settings;
+
+    public Formatter(Settings settings) {
+        this.settings = settings;
+    }
+
+    public String format(String value) {
+        return String.format(settings.getPattern(), value);
+    }
+}
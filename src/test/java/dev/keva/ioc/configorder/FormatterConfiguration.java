@@ -0,0 +1,21 @@
+package dev.keva.ioc.configorder;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class FormatterConfiguration {
+    static final AtomicInteger calls = new AtomicInteger();
+
+    @Autowired
+    Settings settings;
+
+    @Bean
+    public Formatter formatter() {
+        calls.incrementAndGet();
+        return new Formatter(settings);
+    }
+}
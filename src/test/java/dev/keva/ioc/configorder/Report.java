@@ -0,0 +1,13 @@
+package dev.keva.ioc.configorder;
+
+public class Report {
+    private final Formatter formatter;
+
+    public Report(Formatter formatter) {
+        this.formatter = formatter;
+    }
+
+    public String render() {
+        return formatter.format("report");
+    }
+}
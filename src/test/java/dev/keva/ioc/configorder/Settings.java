@@ -0,0 +1,7 @@
+package dev.keva.ioc.configorder;
+
+public class Settings {
+    public String getPattern() {
+        return "%s!";
+    }
+}
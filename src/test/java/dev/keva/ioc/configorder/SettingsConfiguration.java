@@ -0,0 +1,17 @@
+package dev.keva.ioc.configorder;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class SettingsConfiguration {
+    static final AtomicInteger calls = new AtomicInteger();
+
+    @Bean
+    public Settings settings() {
+        calls.incrementAndGet();
+        return new Settings();
+    }
+}
@@ -0,0 +1,16 @@
+package dev.keva.ioc.configorder.cycle;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class PingConfiguration {
+    @Autowired
+    Pong pong;
+
+    @Bean
+    public Ping ping() {
+        return new Ping();
+    }
+}
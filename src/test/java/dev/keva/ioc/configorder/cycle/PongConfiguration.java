@@ -0,0 +1,16 @@
+package dev.keva.ioc.configorder.cycle;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class PongConfiguration {
+    @Autowired
+    Ping ping;
+
+    @Bean
+    public Pong pong() {
+        return new Pong();
+    }
+}
@@ -0,0 +1,4 @@
+package dev.keva.ioc.configorder.missing;
+
+public class Gateway {
+}
@@ -0,0 +1,16 @@
+package dev.keva.ioc.configorder.missing;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class GatewayConfiguration {
+    @Autowired
+    Credentials credentials;
+
+    @Bean
+    public Gateway gateway() {
+        return new Gateway();
+    }
+}
@@ -0,0 +1,9 @@
+package dev.keva.ioc.footprint;
+
+public class Charset {
+    final String name;
+
+    public Charset(String name) {
+        this.name = name;
+    }
+}
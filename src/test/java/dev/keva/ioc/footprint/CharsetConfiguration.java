@@ -0,0 +1,17 @@
+package dev.keva.ioc.footprint;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class CharsetConfiguration {
+    @Bean("utf8")
+    public Charset utf8() {
+        return new Charset("UTF-8");
+    }
+
+    @Bean("latin1")
+    public Charset latin1() {
+        return new Charset("ISO-8859-1");
+    }
+}
@@ -0,0 +1,5 @@
+package dev.keva.ioc.footprint;
+
+public interface Codec {
+    String name();
+}
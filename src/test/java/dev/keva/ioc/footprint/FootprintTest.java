@@ -0,0 +1,75 @@
+package dev.keva.ioc.footprint;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.BeanContainer;
+import dev.keva.ioc.core.Footprint;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FootprintTest {
+    @Test
+    void testFrozenAfterStartup() {
+        KevaIoC context = KevaIoC.initBeans(FootprintTest.class);
+        Footprint footprint = context.getFootprint();
+        assertTrue(footprint.isFrozen());
+        assertTrue(footprint.getBeanEntries() >= 4);
+        assertTrue(footprint.getImplementationEntries() > footprint.getBeanEntries());
+        assertEquals(footprint.getBeanBytes() + footprint.getImplementationBytes(), footprint.getTotalBytes());
+
+        assertThrows(IoCException.class, () -> context.getBean(Charset.class));
+        assertThrows(IoCException.class, () -> context.getBean(Codec.class));
+        assertEquals("json", context.getBean(JsonCodec.class).name());
+    }
+
+    @Test
+    void testBeansCreatedAfterFreeze() {
+        KevaIoC context = KevaIoC.initBeans(FootprintTest.class);
+        int entries = context.getFootprint().getBeanEntries();
+
+        Gateway gateway = context.getBean(Gateway.class);
+        assertEquals("xml", gateway.codec.name());
+        assertSame(context.getBean(JsonCodec.class), gateway.jsonCodec);
+        assertEquals("ISO-8859-1", gateway.charset.name);
+        assertSame(gateway, context.getBean(Gateway.class));
+        assertEquals(entries + 1, context.getFootprint().getBeanEntries());
+        assertTrue(context.getFootprint().isFrozen());
+    }
+
+    @Test
+    void testFreezeCompactsContainer() {
+        BeanContainer container = new BeanContainer();
+        List<Class<?>> classes = new ArrayList<>();
+        for (int dimensions = 1; dimensions <= 200; dimensions++) {
+            Class<?> clazz = Array.newInstance(Object.class, new int[dimensions]).getClass();
+            classes.add(clazz);
+            container.putBean(clazz, "bean" + dimensions);
+        }
+        container.putBean(String.class, "first", "first");
+        container.putBean(String.class, "second", "second");
+        long before = container.estimateBytes();
+
+        container.freeze();
+
+        assertTrue(container.isFrozen());
+        assertTrue(container.estimateBytes() < before);
+        assertEquals(201, container.size());
+        assertEquals(classes, container.getClasses().subList(0, 200));
+        for (int i = 0; i < classes.size(); i++) {
+            assertEquals("bean" + (i + 1), container.getBean(classes.get(i)));
+        }
+        assertEquals("second", container.getBean(String.class, "second"));
+        assertEquals(2, container.getBeans(String.class).size());
+
+        container.putBean(String.class, "third", "third");
+        assertEquals("third", container.getBean(String.class, "third"));
+        assertEquals("first", container.getBean(String.class, "first"));
+        assertEquals("bean1", container.getBean(classes.get(0)));
+        assertEquals(201, container.getClasses().size());
+    }
+}
@@ -0,0 +1,19 @@
+package dev.keva.ioc.footprint;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Lazy;
+import dev.keva.ioc.annotation.Qualifier;
+
+@Component
+@Lazy
+public class Gateway {
+    @Autowired
+    @Qualifier("xmlCodec")
+    Codec codec;
+    @Autowired
+    JsonCodec jsonCodec;
+    @Autowired
+    @Qualifier("latin1")
+    Charset charset;
+}
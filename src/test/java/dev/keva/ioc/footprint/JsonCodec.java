@@ -0,0 +1,11 @@
+package dev.keva.ioc.footprint;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class JsonCodec implements Codec {
+    @Override
+    public String name() {
+        return "json";
+    }
+}
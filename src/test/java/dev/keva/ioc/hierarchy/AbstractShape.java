@@ -0,0 +1,7 @@
+package dev.keva.ioc.hierarchy;
+
+public abstract class AbstractShape implements Shape {
+    public String describe() {
+        return getClass().getSimpleName() + " of area " + area();
+    }
+}
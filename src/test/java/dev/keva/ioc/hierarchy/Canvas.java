@@ -0,0 +1,20 @@
+package dev.keva.ioc.hierarchy;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Canvas {
+    @Autowired
+    Shape shape;
+
+    @Autowired
+    Named named;
+
+    @Autowired
+    AbstractShape abstractShape;
+
+    public String draw() {
+        return named.getName() + ": " + abstractShape.describe() + " / " + shape.area();
+    }
+}
@@ -0,0 +1,34 @@
+package dev.keva.ioc.hierarchy;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ComponentScan("dev.keva.ioc.hierarchy")
+public class HierarchyTest {
+    static KevaIoC kevaIoC;
+
+    @BeforeAll
+    static void init() {
+        kevaIoC = KevaIoC.initBeans(HierarchyTest.class);
+    }
+
+    @Test
+    void testEverySupertypeResolves() {
+        Square square = kevaIoC.getBean(Square.class);
+        assertSame(square, kevaIoC.getBean(Shape.class));
+        assertSame(square, kevaIoC.getBean(Named.class));
+        assertSame(square, kevaIoC.getBean(AbstractShape.class));
+        assertEquals("square: Square of area 4.0 / 4.0", kevaIoC.getBean(Canvas.class).draw());
+    }
+
+    @Test
+    void testMissingImplementation() {
+        assertThrows(IoCException.class, () -> kevaIoC.getBean(Runnable.class));
+        assertThrows(IoCException.class, () -> kevaIoC.getBean(Runnable.class));
+    }
+}
@@ -0,0 +1,5 @@
+package dev.keva.ioc.hierarchy;
+
+public interface Shape {
+    double area();
+}
@@ -0,0 +1,14 @@
+package dev.keva.ioc.hierarchy;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Square extends AbstractShape implements Named {
+    public double area() {
+        return 4;
+    }
+
+    public String getName() {
+        return "square";
+    }
+}
@@ -0,0 +1,85 @@
+package dev.keva.ioc.index;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.core.ComponentIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ComponentScan("dev.keva.ioc.index")
+public class IndexTest {
+    @Test
+    void testIndexGeneratedAtCompileTime() throws IOException, ClassNotFoundException {
+        ComponentIndex index = ComponentIndex.load(IndexTest.class.getClassLoader());
+        assertNotNull(index);
+        assertTrue(index.covers("dev.keva.ioc.index"));
+        List<Class<?>> classes = index.getClasses("dev.keva.ioc.index", IndexTest.class.getClassLoader());
+        assertEquals(1, classes.size());
+        assertEquals(IndexedComponent.class, classes.get(0));
+    }
+
+    @Test
+    void testPackageSplitIntoUnindexedJarNotCovered() throws Exception {
+        Path unindexed = writeJar(false);
+        Path indexed = writeJar(true);
+        try {
+            ClassLoader parent = IndexTest.class.getClassLoader();
+            try (URLClassLoader classLoader = new URLClassLoader(new URL[]{unindexed.toUri().toURL()}, parent)) {
+                assertFalse(ComponentIndex.load(classLoader).covers("dev.keva.ioc.index"));
+            }
+            try (URLClassLoader classLoader = new URLClassLoader(new URL[]{indexed.toUri().toURL()}, parent)) {
+                assertTrue(ComponentIndex.load(classLoader).covers("dev.keva.ioc.index"));
+            }
+        } finally {
+            Files.delete(unindexed);
+            Files.delete(indexed);
+        }
+    }
+
+    @Test
+    void testInitFromIndex() {
+        KevaIoC kevaIoC = KevaIoC.initBeans(IndexTest.class);
+        assertEquals("Indexed", kevaIoC.getBean(IndexedComponent.class).getName());
+    }
+
+    /**
+     * Writes a jar holding a copy of {@code IndexedComponent} in the same package, with or without an index.
+     */
+    private static Path writeJar(boolean withIndex) throws IOException {
+        String entry = IndexedComponent.class.getName().replace('.', '/') + ".class";
+        Path jar = Files.createTempFile("keva-index", ".jar");
+        try (OutputStream file = Files.newOutputStream(jar);
+             JarOutputStream out = new JarOutputStream(file);
+             InputStream in = IndexTest.class.getClassLoader().getResourceAsStream(entry)) {
+            out.putNextEntry(new JarEntry("dev/keva/ioc/index/"));
+            out.closeEntry();
+            out.putNextEntry(new JarEntry(entry));
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+            if (withIndex) {
+                out.putNextEntry(new JarEntry(ComponentIndex.LOCATION));
+                out.write((ComponentIndex.COMPONENT + " " + IndexedComponent.class.getName() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.index;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class IndexedComponent {
+    public String getName() {
+        return "Indexed";
+    }
+}
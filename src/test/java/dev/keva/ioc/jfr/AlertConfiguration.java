@@ -0,0 +1,16 @@
+package dev.keva.ioc.jfr;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class AlertConfiguration {
+    @Autowired
+    StringBuilder channel;
+
+    @Bean
+    public Runnable alert() {
+        return () -> channel.append("!");
+    }
+}
@@ -0,0 +1,12 @@
+package dev.keva.ioc.jfr;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class ChannelConfiguration {
+    @Bean
+    public StringBuilder channel() {
+        return new StringBuilder("ops");
+    }
+}
@@ -0,0 +1,7 @@
+package dev.keva.ioc.jfr;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Inventory {
+}
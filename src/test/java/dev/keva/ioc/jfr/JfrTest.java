@@ -0,0 +1,88 @@
+package dev.keva.ioc.jfr;
+
+import dev.keva.ioc.KevaIoC;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JfrTest {
+    private static List<RecordedEvent> events;
+
+    @BeforeAll
+    static void record() throws Exception {
+        Path file = Files.createTempFile("keva-ioc", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"BeanInstantiated", "BeanResolved", "BeanNotFound", "ScanCompleted"}) {
+                recording.enable("dev.keva.ioc." + name);
+            }
+            recording.start();
+            KevaIoC.initBeans(JfrTest.class).getBean(Warehouse.class);
+            recording.stop();
+            recording.dump(file);
+        }
+        events = RecordingFile.readAllEvents(file);
+    }
+
+    @Test
+    void testInstantiationRecorded() {
+        List<String> beanClasses = new ArrayList<>();
+        for (RecordedEvent event : find("dev.keva.ioc.BeanInstantiated")) {
+            beanClasses.add(event.getClass("beanClass").getName());
+        }
+        assertTrue(beanClasses.contains(Warehouse.class.getName()));
+        assertTrue(beanClasses.contains(Inventory.class.getName()));
+        assertTrue(beanClasses.contains(ChannelConfiguration.class.getName()));
+    }
+
+    @Test
+    void testResolutionRecorded() {
+        boolean found = false;
+        for (RecordedEvent event : find("dev.keva.ioc.BeanResolved")) {
+            found |= event.getClass("requestedType").getName().equals(Inventory.class.getName())
+                    && event.getClass("implementationClass").getName().equals(Inventory.class.getName());
+        }
+        assertTrue(found);
+    }
+
+    @Test
+    void testConfigurationsOrdered() {
+        List<String> configurationClasses = new ArrayList<>();
+        for (RecordedEvent event : find("dev.keva.ioc.BeanInstantiated")) {
+            String beanClass = event.getClass("beanClass").getName();
+            if (beanClass.endsWith("Configuration")) {
+                configurationClasses.add(beanClass);
+            }
+        }
+        assertEquals(Arrays.asList(ChannelConfiguration.class.getName(), AlertConfiguration.class.getName()),
+                configurationClasses);
+        assertTrue(find("dev.keva.ioc.BeanNotFound").isEmpty());
+    }
+
+    @Test
+    void testScanRecorded() {
+        List<RecordedEvent> scans = find("dev.keva.ioc.ScanCompleted");
+        assertEquals(1, scans.size());
+        assertEquals("dev.keva.ioc.jfr", scans.get(0).getString("packageName"));
+        assertEquals(4, scans.get(0).getInt("classCount"));
+    }
+
+    private static List<RecordedEvent> find(String name) {
+        List<RecordedEvent> found = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                found.add(event);
+            }
+        }
+        return found;
+    }
+}
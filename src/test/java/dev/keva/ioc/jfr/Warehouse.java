@@ -0,0 +1,10 @@
+package dev.keva.ioc.jfr;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Warehouse {
+    @Autowired
+    Inventory inventory;
+}
@@ -0,0 +1,5 @@
+package dev.keva.ioc.lazy;
+
+interface Archive {
+    String store(String entry);
+}
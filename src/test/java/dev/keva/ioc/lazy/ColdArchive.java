@@ -0,0 +1,21 @@
+package dev.keva.ioc.lazy;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Lazy
+@Component
+public class ColdArchive implements Archive {
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public ColdArchive() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Override
+    public String store(String entry) {
+        return "archived " + entry;
+    }
+}
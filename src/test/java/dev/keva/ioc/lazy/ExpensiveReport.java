@@ -0,0 +1,20 @@
+package dev.keva.ioc.lazy;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Lazy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Lazy
+@Component
+public class ExpensiveReport implements Report {
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public ExpensiveReport() {
+        INSTANCES.incrementAndGet();
+    }
+
+    public String render() {
+        return "report";
+    }
+}
@@ -0,0 +1,25 @@
+package dev.keva.ioc.lazy;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class Job {
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Autowired
+    Report report;
+
+    @Autowired
+    Archive archive;
+
+    public Job() {
+        INSTANCES.incrementAndGet();
+    }
+
+    public String run() {
+        return "job with " + report.render();
+    }
+}
@@ -0,0 +1,65 @@
+package dev.keva.ioc.lazy;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.core.LazyProxy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ComponentScan("dev.keva.ioc.lazy")
+public class LazyTest {
+    @BeforeEach
+    void reset() {
+        Job.INSTANCES.set(0);
+        ExpensiveReport.INSTANCES.set(0);
+        ColdArchive.INSTANCES.set(0);
+    }
+
+    @Test
+    void testLazyComponentInjectedAsProxy() {
+        KevaIoC kevaIoC = KevaIoC.initBeans(LazyTest.class);
+        Job job = kevaIoC.getBean(Job.class);
+        assertEquals(1, Job.INSTANCES.get());
+        assertEquals(0, ExpensiveReport.INSTANCES.get());
+        assertTrue(LazyProxy.isLazyProxy(job.report));
+
+        assertEquals("job with report", job.run());
+        assertEquals(1, ExpensiveReport.INSTANCES.get());
+        assertSame(kevaIoC.getBean(ExpensiveReport.class), kevaIoC.getBean(Report.class));
+        assertEquals(1, ExpensiveReport.INSTANCES.get());
+    }
+
+    @Test
+    void testPackagePrivateInterface() {
+        Job job = KevaIoC.initBeans(LazyTest.class).getBean(Job.class);
+        assertTrue(LazyProxy.isLazyProxy(job.archive));
+        assertEquals("archived log", job.archive.store("log"));
+        assertEquals(1, ColdArchive.INSTANCES.get());
+    }
+
+    @Test
+    void testObjectMethodsDoNotCreateBean() {
+        Report report = KevaIoC.initBeans(LazyTest.class).getBean(Job.class).report;
+        assertEquals(report, report);
+        assertNotEquals(report, new ExpensiveReport());
+        assertEquals(System.identityHashCode(report), report.hashCode());
+        assertEquals("Lazy proxy for " + Report.class.getName(), report.toString());
+        assertEquals(1, ExpensiveReport.INSTANCES.get());
+    }
+
+    @Test
+    void testLazyMode() {
+        KevaIoC kevaIoC = KevaIoC.builder(LazyTest.class).lazy().build();
+        assertEquals(0, Job.INSTANCES.get());
+        assertEquals(0, ExpensiveReport.INSTANCES.get());
+
+        Report report = kevaIoC.getBean(Report.class);
+        assertFalse(LazyProxy.isLazyProxy(report));
+        assertEquals(0, Job.INSTANCES.get());
+        assertEquals("job with report", kevaIoC.getBean(Job.class).run());
+        assertEquals(1, Job.INSTANCES.get());
+        assertEquals(1, ExpensiveReport.INSTANCES.get());
+    }
+}
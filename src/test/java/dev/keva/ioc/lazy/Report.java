@@ -0,0 +1,5 @@
+package dev.keva.ioc.lazy;
+
+public interface Report {
+    String render();
+}
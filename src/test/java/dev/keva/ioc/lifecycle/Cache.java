@@ -0,0 +1,11 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Cache implements AutoCloseable {
+    @Override
+    public void close() {
+        Events.LOG.add("close Cache");
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.lifecycle;
+
+public class Client implements AutoCloseable {
+    boolean closed;
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
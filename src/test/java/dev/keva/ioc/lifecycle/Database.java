@@ -0,0 +1,26 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.PostConstruct;
+import dev.keva.ioc.annotation.PreDestroy;
+
+@Component
+public class Database extends Resource implements AutoCloseable {
+    boolean openedAfterStart;
+
+    @PostConstruct
+    void open() {
+        openedAfterStart = started;
+        Events.LOG.add("open Database");
+    }
+
+    @PreDestroy
+    void disconnect() {
+        Events.LOG.add("disconnect Database");
+    }
+
+    @Override
+    public void close() {
+        Events.LOG.add("close Database");
+    }
+}
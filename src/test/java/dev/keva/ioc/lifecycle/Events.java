@@ -0,0 +1,10 @@
+package dev.keva.ioc.lifecycle;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+public class Events {
+    public static final List<String> LOG = new CopyOnWriteArrayList<>();
+    public static volatile CountDownLatch CLOSING = new CountDownLatch(2);
+}
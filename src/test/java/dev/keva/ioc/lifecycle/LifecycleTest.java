@@ -0,0 +1,85 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.ShutdownReport;
+import dev.keva.ioc.core.StartupReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LifecycleTest {
+    @BeforeEach
+    void reset() {
+        Events.LOG.clear();
+        Events.CLOSING = new CountDownLatch(2);
+    }
+
+    @Test
+    void testPostConstructAfterInjection() {
+        KevaIoC context = KevaIoC.initBeans(LifecycleTest.class);
+        assertTrue(context.getBean(Repository.class).injectedBeforePostConstruct);
+        assertTrue(context.getBean(Database.class).openedAfterStart);
+        assertEquals(1, Events.LOG.stream().filter("open Database"::equals).count());
+        assertTrue(Events.LOG.indexOf("start Database") < Events.LOG.indexOf("open Database"));
+
+        StartupReport.BeanTiming database = context.getStartupReport().getBeans().stream()
+                .filter(bean -> bean.getType() == Database.class).findFirst().get();
+        assertTrue(database.getNanos(StartupReport.Step.POST_CONSTRUCT) > 0);
+    }
+
+    @Test
+    void testDestroyedInReverseDependencyOrder() {
+        Client client = new Client();
+        KevaIoC context = KevaIoC.initBeans(LifecycleTest.class, client);
+        context.getBean(Repository.class);
+        Events.LOG.clear();
+
+        ShutdownReport report = context.close(Duration.ofSeconds(10), Duration.ofSeconds(30));
+
+        int repository = Events.LOG.indexOf("close Repository");
+        assertTrue(repository >= 0);
+        assertTrue(repository < Events.LOG.indexOf("disconnect Database"));
+        assertTrue(repository < Events.LOG.indexOf("close Cache"));
+        assertTrue(repository < Events.LOG.indexOf("close Pool"));
+        assertTrue(Events.LOG.indexOf("disconnect Database") < Events.LOG.indexOf("release Database"));
+        assertFalse(Events.LOG.contains("close Database"));
+        assertFalse(client.closed);
+
+        Map<Class<?>, ShutdownReport.Status> statuses = new HashMap<>();
+        for (ShutdownReport.BeanShutdown bean : report.getBeans()) {
+            statuses.put(bean.getType(), bean.getStatus());
+        }
+        assertEquals(6, statuses.size());
+        for (ShutdownReport.Status status : statuses.values()) {
+            assertEquals(ShutdownReport.Status.CLOSED, status);
+        }
+        assertFalse(report.isDeadlineExceeded());
+        assertTrue(report.getFailures().isEmpty());
+    }
+
+    @Test
+    void testIndependentBeansClosedInParallel() {
+        KevaIoC context = KevaIoC.initBeans(LifecycleTest.class);
+        ShutdownReport report = context.close(Duration.ofSeconds(10), Duration.ofSeconds(30));
+        assertTrue(report.getFailures().isEmpty(), report.toString());
+        assertEquals(0, Events.CLOSING.getCount());
+    }
+
+    @Test
+    void testCloseOnlyOnce() {
+        KevaIoC context = KevaIoC.initBeans(LifecycleTest.class);
+        assertNull(context.getShutdownReport());
+        context.close();
+        ShutdownReport report = context.getShutdownReport();
+        assertNotNull(report);
+        Events.LOG.clear();
+        assertSame(report, context.close(Duration.ofSeconds(1), Duration.ofSeconds(1)));
+        assertTrue(Events.LOG.isEmpty());
+    }
+}
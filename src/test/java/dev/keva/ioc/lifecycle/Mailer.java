@@ -0,0 +1,19 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.annotation.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closes only once {@link Metrics} is closing too, which needs both to be closed in parallel.
+ */
+@Component
+public class Mailer implements AutoCloseable {
+    @Override
+    public void close() throws InterruptedException {
+        Events.CLOSING.countDown();
+        if (!Events.CLOSING.await(5, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Metrics was not closed concurrently");
+        }
+    }
+}
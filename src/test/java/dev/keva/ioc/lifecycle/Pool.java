@@ -0,0 +1,8 @@
+package dev.keva.ioc.lifecycle;
+
+public class Pool implements AutoCloseable {
+    @Override
+    public void close() {
+        Events.LOG.add("close Pool");
+    }
+}
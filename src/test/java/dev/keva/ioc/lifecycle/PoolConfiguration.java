@@ -0,0 +1,12 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class PoolConfiguration {
+    @Bean
+    public Pool pool() {
+        return new Pool();
+    }
+}
@@ -0,0 +1,26 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.PostConstruct;
+
+@Component
+public class Repository implements AutoCloseable {
+    @Autowired
+    Database database;
+    @Autowired
+    Cache cache;
+    @Autowired
+    Pool pool;
+    boolean injectedBeforePostConstruct;
+
+    @PostConstruct
+    void check() {
+        injectedBeforePostConstruct = database != null && cache != null && pool != null;
+    }
+
+    @Override
+    public void close() {
+        Events.LOG.add("close Repository");
+    }
+}
@@ -0,0 +1,19 @@
+package dev.keva.ioc.lifecycle;
+
+import dev.keva.ioc.annotation.PostConstruct;
+import dev.keva.ioc.annotation.PreDestroy;
+
+public abstract class Resource {
+    protected boolean started;
+
+    @PostConstruct
+    void start() {
+        started = true;
+        Events.LOG.add("start " + getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    void release() {
+        Events.LOG.add("release " + getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,7 @@
+package dev.keva.ioc.multiroot;
+
+import dev.keva.ioc.annotation.ComponentScan;
+
+@ComponentScan({"dev.keva.ioc.multiroot.nested", "dev.keva.ioc.multiroot", "dev.keva.ioc.multiroot"})
+public class MultiRootApplication {
+}
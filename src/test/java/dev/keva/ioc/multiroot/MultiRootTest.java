@@ -0,0 +1,103 @@
+package dev.keva.ioc.multiroot;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.StartupReport;
+import dev.keva.ioc.multiroot.nested.NestedConfiguration;
+import dev.keva.ioc.utils.ClassLoaderUtil;
+import dev.keva.ioc.utils.ClassNameFilter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiRootTest {
+    private static final String NESTED = NestedConfiguration.class.getName().replace('.', '/') + ".class";
+
+    @Test
+    void testRootPackages() {
+        assertEquals(Arrays.asList("a.b", "c"), ClassLoaderUtil.getRootPackages("a.b.c", "a.b", "c", "a.b.d", "c"));
+        assertEquals(Arrays.asList("a", "ab"), ClassLoaderUtil.getRootPackages("a", "ab", "a.b"));
+        assertEquals(Collections.singletonList(""), ClassLoaderUtil.getRootPackages("a", "", "b"));
+    }
+
+    @Test
+    void testOverlappingPackagesScannedOnce() {
+        int created = NestedConfiguration.CREATED.get();
+        KevaIoC context = KevaIoC.initBeans(MultiRootApplication.class);
+        assertEquals(created + 1, NestedConfiguration.CREATED.get());
+        assertEquals("nested", context.getBean(StringBuilder.class).toString());
+
+        List<String> discovered = new ArrayList<>();
+        for (StartupReport.PhaseTiming phase : context.getStartupReport().getPhases()) {
+            if (phase.getPhase() == StartupReport.Phase.CLASS_DISCOVERY) {
+                discovered.add(phase.getPackageName());
+            }
+        }
+        assertEquals(Collections.singletonList("dev.keva.ioc.multiroot"), discovered);
+    }
+
+    @Test
+    void testPackageSplitAcrossDirectoryAndJar() throws Exception {
+        Path jar = Files.createTempFile("keva-multiroot", ".jar");
+        try {
+            writeJar(jar);
+            ClassLoader parent = Thread.currentThread().getContextClassLoader();
+            List<String> expected = Collections.singletonList(NestedConfiguration.class.getName());
+
+            try (URLClassLoader jarOnly = new URLClassLoader(new URL[]{jar.toUri().toURL()}, null)) {
+                assertEquals(expected, scan(jarOnly));
+            }
+            try (URLClassLoader both = new URLClassLoader(new URL[]{jar.toUri().toURL()}, parent)) {
+                assertEquals(2, Collections.list(both.getResources("dev/keva/ioc/multiroot/nested")).size());
+                assertEquals(expected, scan(both));
+            }
+        } finally {
+            Files.delete(jar);
+        }
+    }
+
+    private static List<String> scan(ClassLoader classLoader) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return ClassLoaderUtil.getClassNames("dev.keva.ioc.multiroot.nested", ClassNameFilter.ALL);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static void writeJar(Path jar) throws IOException {
+        try (OutputStream file = Files.newOutputStream(jar);
+             JarOutputStream out = new JarOutputStream(file);
+             InputStream in = MultiRootTest.class.getClassLoader().getResourceAsStream(NESTED)) {
+            String[] directories = NESTED.split("/");
+            StringBuilder directory = new StringBuilder();
+            for (int i = 0; i < directories.length - 1; i++) {
+                directory.append(directories[i]).append('/');
+                out.putNextEntry(new JarEntry(directory.toString()));
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry(NESTED));
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+            out.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.keva.ioc.multiroot.nested;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class NestedConfiguration {
+    public static final AtomicInteger CREATED = new AtomicInteger();
+
+    public NestedConfiguration() {
+        CREATED.incrementAndGet();
+    }
+
+    @Bean("nested")
+    public StringBuilder nested() {
+        return new StringBuilder("nested");
+    }
+}
@@ -0,0 +1,22 @@
+package dev.keva.ioc.parallel;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Application {
+    private final SlowCache cache;
+    private final SlowPool pool;
+    private final SlowModel model;
+
+    @Autowired
+    public Application(SlowCache cache, SlowPool pool, SlowModel model) {
+        this.cache = cache;
+        this.pool = pool;
+        this.model = model;
+    }
+
+    public boolean isReady() {
+        return cache != null && pool != null && model != null;
+    }
+}
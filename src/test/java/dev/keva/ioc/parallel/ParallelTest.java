@@ -0,0 +1,56 @@
+package dev.keva.ioc.parallel;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.annotation.ComponentScan;
+import dev.keva.ioc.configbean.ClientClass;
+import dev.keva.ioc.core.CriticalPath;
+import dev.keva.ioc.multiple.Browser;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ComponentScan({"dev.keva.ioc.parallel", "dev.keva.ioc.multiple", "dev.keva.ioc.configbean"})
+public class ParallelTest {
+    @Test
+    void testParallelStartup() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            KevaIoC kevaIoC = KevaIoC.builder(ParallelTest.class).parallel(executor).build();
+            assertTrue(kevaIoC.getBean(Application.class).isReady());
+
+            CriticalPath criticalPath = kevaIoC.getCriticalPath();
+            assertNotNull(criticalPath);
+            int application = criticalPath.getBeans().indexOf(Application.class);
+            assertTrue(application > 0);
+            assertTrue(criticalPath.getBeans().get(application - 1).getSimpleName().startsWith("Slow"));
+            assertTrue(criticalPath.getNanos() > 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testSameResultAsSerial() {
+        KevaIoC serial = KevaIoC.initBeans(ParallelTest.class);
+        KevaIoC parallel = KevaIoC.builder(ParallelTest.class).parallel().build();
+        assertNull(serial.getCriticalPath());
+        assertEquals(serial.getBean(Browser.class).run(), parallel.getBean(Browser.class).run());
+        assertEquals(serial.getBean(ClientClass.class).run(), parallel.getBean(ClientClass.class).run());
+    }
+
+    @Test
+    void testBuildAsyncOnSingleThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            KevaIoC kevaIoC = KevaIoC.builder(ParallelTest.class).parallel(executor).buildAsync()
+                    .toCompletableFuture().get(10, TimeUnit.SECONDS);
+            assertTrue(kevaIoC.getBean(Application.class).isReady());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
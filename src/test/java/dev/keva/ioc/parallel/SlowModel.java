@@ -0,0 +1,10 @@
+package dev.keva.ioc.parallel;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class SlowModel {
+    public SlowModel() throws InterruptedException {
+        Thread.sleep(50);
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.parallel;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class SlowPool {
+    public SlowPool() throws InterruptedException {
+        Thread.sleep(50);
+    }
+}
@@ -0,0 +1,34 @@
+package dev.keva.ioc.plan;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Accountant {
+    private final Clock clock;
+    @Autowired
+    private Ledger ledger;
+    private Ledger auditedLedger;
+
+    @Autowired
+    private Accountant(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Autowired
+    private void setAuditedLedger(Ledger auditedLedger) {
+        this.auditedLedger = auditedLedger;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public Ledger getLedger() {
+        return ledger;
+    }
+
+    public Ledger getAuditedLedger() {
+        return auditedLedger;
+    }
+}
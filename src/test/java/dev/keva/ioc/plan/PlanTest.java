@@ -0,0 +1,31 @@
+package dev.keva.ioc.plan;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.InjectionPlan;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanTest {
+    @Test
+    void testPrivateMembersInjectedThroughPlan() {
+        KevaIoC context = KevaIoC.initBeans(PlanTest.class);
+        Accountant accountant = context.getBean(Accountant.class);
+        assertSame(context.getBean(Clock.class), accountant.getClock());
+        assertSame(context.getBean(Ledger.class), accountant.getLedger());
+        assertSame(context.getBean(Ledger.class), accountant.getAuditedLedger());
+    }
+
+    @Test
+    void testPlanSharedAcrossContainers() {
+        InjectionPlan plan = InjectionPlan.of(Accountant.class);
+        assertEquals(1, plan.getConstructorParameters().length);
+        assertEquals(1, plan.getFields().size());
+        assertEquals(1, plan.getSetters().size());
+
+        KevaIoC first = KevaIoC.initBeans(PlanTest.class);
+        KevaIoC second = KevaIoC.initBeans(PlanTest.class);
+        assertNotSame(first.getBean(Accountant.class), second.getBean(Accountant.class));
+        assertSame(plan, InjectionPlan.of(Accountant.class));
+    }
+}
@@ -0,0 +1,9 @@
+package dev.keva.ioc.pooled;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Scope;
+
+@Component
+@Scope(value = Scope.POOLED, poolSize = 1)
+public class Connection {
+}
@@ -0,0 +1,16 @@
+package dev.keva.ioc.pooled;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledInjectionTest {
+    @Test
+    void testDirectInjectionRejected() {
+        // Two consumers of a pool of one used to block the startup forever
+        IoCException e = assertThrows(IoCException.class, () -> KevaIoC.initBeans(PooledInjectionTest.class));
+        assertTrue(e.getMessage().contains("Provider<Connection>"), e.getMessage());
+    }
+}
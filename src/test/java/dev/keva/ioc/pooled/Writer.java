@@ -0,0 +1,10 @@
+package dev.keva.ioc.pooled;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Writer {
+    @Autowired
+    Connection connection;
+}
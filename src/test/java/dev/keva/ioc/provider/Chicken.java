@@ -0,0 +1,19 @@
+package dev.keva.ioc.provider;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.core.Provider;
+
+@Component
+public class Chicken {
+    private final Provider<Egg> egg;
+
+    @Autowired
+    public Chicken(Provider<Egg> egg) {
+        this.egg = egg;
+    }
+
+    public Egg getEgg() {
+        return egg.get();
+    }
+}
@@ -0,0 +1,18 @@
+package dev.keva.ioc.provider;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Egg {
+    private final Chicken chicken;
+
+    @Autowired
+    public Egg(Chicken chicken) {
+        this.chicken = chicken;
+    }
+
+    public Chicken getChicken() {
+        return chicken;
+    }
+}
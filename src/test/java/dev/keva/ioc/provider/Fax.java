@@ -0,0 +1,4 @@
+package dev.keva.ioc.provider;
+
+public interface Fax {
+}
@@ -0,0 +1,11 @@
+package dev.keva.ioc.provider;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class LaserPrinter implements Printer {
+    @Override
+    public String print(String text) {
+        return "laser: " + text;
+    }
+}
@@ -0,0 +1,19 @@
+package dev.keva.ioc.provider;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.core.Provider;
+
+import java.util.Optional;
+
+@Component
+public class Office {
+    @Autowired
+    Provider<Printer> printer;
+    @Autowired
+    Optional<Printer> optionalPrinter;
+    @Autowired
+    Optional<Fax> fax;
+    @Autowired
+    Provider<Ticket> tickets;
+}
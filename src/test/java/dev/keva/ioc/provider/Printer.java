@@ -0,0 +1,5 @@
+package dev.keva.ioc.provider;
+
+public interface Printer {
+    String print(String text);
+}
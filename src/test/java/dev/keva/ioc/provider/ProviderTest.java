@@ -0,0 +1,44 @@
+package dev.keva.ioc.provider;
+
+import dev.keva.ioc.KevaIoC;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProviderTest {
+    private static KevaIoC context;
+
+    @BeforeAll
+    static void setup() {
+        context = KevaIoC.initBeans(ProviderTest.class);
+    }
+
+    @Test
+    void testProviderReturnsSingleton() {
+        Office office = context.getBean(Office.class);
+        assertSame(context.getBean(Printer.class), office.printer.get());
+        assertSame(office.printer.get(), office.printer.get());
+        assertEquals("laser: memo", office.printer.get().print("memo"));
+    }
+
+    @Test
+    void testOptionalInjection() {
+        Office office = context.getBean(Office.class);
+        assertSame(context.getBean(Printer.class), office.optionalPrinter.orElse(null));
+        assertFalse(office.fax.isPresent());
+    }
+
+    @Test
+    void testProviderOfPrototype() {
+        Office office = context.getBean(Office.class);
+        assertNotSame(office.tickets.get(), office.tickets.get());
+    }
+
+    @Test
+    void testProviderBreaksConstructorCycle() {
+        Chicken chicken = context.getBean(Chicken.class);
+        assertSame(context.getBean(Egg.class), chicken.getEgg());
+        assertSame(chicken, chicken.getEgg().getChicken());
+    }
+}
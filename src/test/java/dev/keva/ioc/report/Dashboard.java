@@ -0,0 +1,18 @@
+package dev.keva.ioc.report;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Dashboard {
+    private final SlowWidget widget;
+
+    @Autowired
+    public Dashboard(SlowWidget widget) {
+        this.widget = widget;
+    }
+
+    public SlowWidget getWidget() {
+        return widget;
+    }
+}
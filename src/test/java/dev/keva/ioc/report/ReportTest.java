@@ -0,0 +1,71 @@
+package dev.keva.ioc.report;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.StartupReport;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportTest {
+    private static StartupReport report;
+
+    @BeforeAll
+    static void setup() {
+        report = KevaIoC.initBeans(ReportTest.class).getStartupReport();
+    }
+
+    @Test
+    void testPhasesRecorded() {
+        Set<StartupReport.Phase> phases = EnumSet.noneOf(StartupReport.Phase.class);
+        for (StartupReport.PhaseTiming phase : report.getPhases()) {
+            assertEquals("dev.keva.ioc.report", phase.getPackageName());
+            phases.add(phase.getPhase());
+        }
+        assertEquals(EnumSet.allOf(StartupReport.Phase.class), phases);
+        assertTrue(report.getTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void testBeanTimingExcludesDependencies() {
+        StartupReport.BeanTiming widget = find(SlowWidget.class);
+        StartupReport.BeanTiming dashboard = find(Dashboard.class);
+        assertSame(widget, report.getSlowestBeans(1).get(0));
+        assertTrue(widget.getNanos(StartupReport.Step.CONSTRUCTOR) >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(dashboard.getTotalNanos() >= widget.getTotalNanos());
+        assertTrue(dashboard.getSelfNanos() < TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(Arrays.asList(Dashboard.class, SlowWidget.class), widget.getChain());
+    }
+
+    @Test
+    void testBeanMethodTimed() {
+        StartupReport.BeanTiming theme = find(StringBuilder.class);
+        assertEquals(Arrays.asList(ThemeConfiguration.class, StringBuilder.class), theme.getChain());
+        assertEquals(theme.getSelfNanos(), theme.getNanos(StartupReport.Step.BEAN_METHOD));
+    }
+
+    @Test
+    void testExports() {
+        String json = report.toJson();
+        assertTrue(json.startsWith("{\"totalNanos\":"));
+        assertTrue(json.contains("\"type\":\"dev.keva.ioc.report.SlowWidget\""));
+        assertTrue(json.contains("\"chain\":[\"dev.keva.ioc.report.Dashboard\",\"dev.keva.ioc.report.SlowWidget\"]"));
+        String dot = report.toDot();
+        assertTrue(dot.startsWith("digraph startup {"));
+        assertTrue(dot.contains("\"dev.keva.ioc.report.Dashboard\" -> \"dev.keva.ioc.report.SlowWidget\";"));
+    }
+
+    private static StartupReport.BeanTiming find(Class<?> type) {
+        for (StartupReport.BeanTiming bean : report.getBeans()) {
+            if (bean.getType() == type) {
+                return bean;
+            }
+        }
+        throw new AssertionError("No timing for " + type.getName());
+    }
+}
@@ -0,0 +1,10 @@
+package dev.keva.ioc.report;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class SlowWidget {
+    public SlowWidget() throws InterruptedException {
+        Thread.sleep(50);
+    }
+}
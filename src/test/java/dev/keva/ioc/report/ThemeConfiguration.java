@@ -0,0 +1,12 @@
+package dev.keva.ioc.report;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class ThemeConfiguration {
+    @Bean
+    public StringBuilder theme() {
+        return new StringBuilder("dark");
+    }
+}
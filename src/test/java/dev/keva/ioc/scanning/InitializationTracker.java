@@ -0,0 +1,8 @@
+package dev.keva.ioc.scanning;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InitializationTracker {
+    public static final Set<String> INITIALIZED = ConcurrentHashMap.newKeySet();
+}
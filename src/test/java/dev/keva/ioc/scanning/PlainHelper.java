@@ -0,0 +1,7 @@
+package dev.keva.ioc.scanning;
+
+public class PlainHelper {
+    static {
+        InitializationTracker.INITIALIZED.add(PlainHelper.class.getSimpleName());
+    }
+}
@@ -0,0 +1,106 @@
+package dev.keva.ioc.scanning;
+
+import dev.keva.ioc.scanning.internal.InternalComponent;
+import dev.keva.ioc.utils.ClassLoaderUtil;
+import dev.keva.ioc.utils.ClassNameFilter;
+import dev.keva.ioc.utils.ScanCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScanCacheTest {
+    private static final String PACKAGE = "dev.keva.ioc.scanning";
+    private static final List<Class<?>> SCANNED = Arrays.asList(ScannedComponent.class, ScannedConfiguration.class,
+            InternalComponent.class);
+
+    @Test
+    void testScanResultWrittenAndReused() throws Exception {
+        ScanCache scanCache = new ScanCache(Files.createTempDirectory("keva-scan"));
+        Path file = scanCache.getFile(PACKAGE, ClassNameFilter.ALL);
+        assertEquals(SCANNED, scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+        assertTrue(Files.isRegularFile(file));
+
+        // A cache entry with a matching fingerprint is trusted without scanning
+        Files.write(file, cacheFile(PACKAGE + " " + ClassNameFilter.ALL, ClassLoaderUtil.getFingerprint(PACKAGE),
+                ScannedComponent.class.getName()));
+        assertEquals(Collections.singletonList(ScannedComponent.class),
+                scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+    }
+
+    @Test
+    void testStaleOrCorruptCacheRescanned() throws Exception {
+        ScanCache scanCache = new ScanCache(Files.createTempDirectory("keva-scan"));
+        Path file = scanCache.getFile(PACKAGE, ClassNameFilter.ALL);
+
+        Files.write(file, cacheFile(PACKAGE + " " + ClassNameFilter.ALL, ClassLoaderUtil.getFingerprint(PACKAGE) + 1,
+                ScannedComponent.class.getName()));
+        assertEquals(SCANNED, scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertEquals(SCANNED, scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+    }
+
+    @Test
+    void testEntryOfOtherKeyRescanned() throws Exception {
+        ScanCache scanCache = new ScanCache(Files.createTempDirectory("keva-scan"));
+        Path file = scanCache.getFile(PACKAGE, ClassNameFilter.ALL);
+
+        // Another package and filter whose file name collides with this one
+        Files.write(file, cacheFile("dev.keva.other " + ClassNameFilter.ALL, ClassLoaderUtil.getFingerprint(PACKAGE),
+                ScannedComponent.class.getName()));
+        assertEquals(SCANNED, scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+    }
+
+    @Test
+    void testFiltersCachedSeparately() throws Exception {
+        ScanCache scanCache = new ScanCache(Files.createTempDirectory("keva-scan"));
+        ClassNameFilter excludeInternal = new ClassNameFilter(new String[0], new String[]{"dev.keva.ioc.**.internal.*"});
+        assertNotEquals(scanCache.getFile(PACKAGE, ClassNameFilter.ALL), scanCache.getFile(PACKAGE, excludeInternal));
+        assertEquals(SCANNED, scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+        assertEquals(Arrays.asList(ScannedComponent.class, ScannedConfiguration.class),
+                scanCache.getClasses(PACKAGE, excludeInternal));
+    }
+
+    @Test
+    void testTempFileDeletedWhenReplaceFails() throws Exception {
+        Path directory = Files.createTempDirectory("keva-scan");
+        ScanCache scanCache = new ScanCache(directory);
+        // A non-empty directory in place of the cache file cannot be replaced, like a file still mapped on Windows
+        Path file = scanCache.getFile(PACKAGE, ClassNameFilter.ALL);
+        Files.createFile(Files.createDirectories(file).resolve("locked"));
+
+        assertEquals(SCANNED, scanCache.getClasses(PACKAGE, ClassNameFilter.ALL));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(Collections.singletonList(file), files.collect(Collectors.toList()));
+        }
+    }
+
+    private static byte[] cacheFile(String key, long fingerprint, String... classNames) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0x4B455641);
+        out.writeInt(2);
+        out.writeLong(fingerprint);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(classNames.length);
+        for (String className : classNames) {
+            byte[] name = className.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(name.length);
+            out.write(name);
+        }
+        return bytes.toByteArray();
+    }
+}
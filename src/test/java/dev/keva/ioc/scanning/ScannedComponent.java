@@ -0,0 +1,10 @@
+package dev.keva.ioc.scanning;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class ScannedComponent {
+    static {
+        InitializationTracker.INITIALIZED.add(ScannedComponent.class.getSimpleName());
+    }
+}
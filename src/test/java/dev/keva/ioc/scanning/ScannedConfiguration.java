@@ -0,0 +1,12 @@
+package dev.keva.ioc.scanning;
+
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class ScannedConfiguration {
+    @Bean("scanned")
+    public StringBuilder builder() {
+        return new StringBuilder("scanned");
+    }
+}
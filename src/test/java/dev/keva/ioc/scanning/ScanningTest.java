@@ -0,0 +1,32 @@
+package dev.keva.ioc.scanning;
+
+import dev.keva.ioc.utils.ClassLoaderUtil;
+import dev.keva.ioc.utils.ClassNameFilter;
+import dev.keva.ioc.scanning.internal.InternalComponent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScanningTest {
+    @Test
+    void testOnlyContainerClassesLoadedWithoutInitialization() throws Exception {
+        List<Class<?>> classes = ClassLoaderUtil.getClasses("dev.keva.ioc.scanning");
+        assertEquals(Arrays.asList(ScannedComponent.class, ScannedConfiguration.class, InternalComponent.class), classes);
+        assertFalse(InitializationTracker.INITIALIZED.contains("PlainHelper"));
+        assertFalse(InitializationTracker.INITIALIZED.contains("ScannedComponent"));
+    }
+
+    @Test
+    void testIncludeExcludePatterns() throws Exception {
+        ClassNameFilter excludeInternal = new ClassNameFilter(new String[0], new String[]{"dev.keva.ioc.**.internal.*"});
+        assertEquals(Arrays.asList(ScannedComponent.class, ScannedConfiguration.class),
+                ClassLoaderUtil.getClasses("dev.keva.ioc.scanning", excludeInternal));
+
+        ClassNameFilter onlyConfigurations = new ClassNameFilter(new String[]{"**Configuration"}, new String[0]);
+        assertEquals(Arrays.asList(ScannedConfiguration.class),
+                ClassLoaderUtil.getClasses("dev.keva.ioc.scanning", onlyConfigurations));
+    }
+}
@@ -0,0 +1,7 @@
+package dev.keva.ioc.scanning.internal;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class InternalComponent {
+}
@@ -0,0 +1,12 @@
+package dev.keva.ioc.scope;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Handler {
+    @Autowired
+    Request first;
+    @Autowired
+    Request second;
+}
@@ -0,0 +1,16 @@
+package dev.keva.ioc.scope;
+
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.Scope;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Scope(value = Scope.POOLED, poolSize = 2)
+public class Parser {
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public Parser() {
+        INSTANCES.incrementAndGet();
+    }
+}
@@ -0,0 +1,103 @@
+package dev.keva.ioc.scope;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.BeanPool;
+import dev.keva.ioc.exception.IoCException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScopeTest {
+    private KevaIoC context;
+
+    @BeforeEach
+    void setup() {
+        Parser.INSTANCES.set(0);
+        context = KevaIoC.initBeans(ScopeTest.class);
+    }
+
+    @Test
+    void testPrototypeCreatedForEveryLookup() {
+        assertNotSame(context.getBean(Request.class), context.getBean(Request.class));
+        Handler handler = context.getBean(Handler.class);
+        assertNotNull(handler.first);
+        assertNotSame(handler.first, handler.second);
+    }
+
+    @Test
+    void testPooledInstancesReused() {
+        assertEquals(0, Parser.INSTANCES.get());
+        Parser first = context.getBean(Parser.class);
+        context.release(first);
+        assertSame(first, context.getBean(Parser.class));
+        Parser second = context.getBean(Parser.class);
+        assertNotSame(first, second);
+        context.release(first);
+        context.release(second);
+        assertEquals(2, Parser.INSTANCES.get());
+    }
+
+    @Test
+    void testPoolBoundsConcurrentBorrowers() throws Exception {
+        BeanPool<Parser> pool = context.getPool(Parser.class);
+        assertEquals(2, pool.getMaxSize());
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger maxBorrowed = new AtomicInteger();
+        Set<Parser> seen = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(200);
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                Parser parser = pool.borrow();
+                seen.add(parser);
+                maxBorrowed.accumulateAndGet(borrowed.incrementAndGet(), Math::max);
+                borrowed.decrementAndGet();
+                pool.release(parser);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(maxBorrowed.get() <= 2);
+        assertTrue(seen.size() <= 2);
+        assertEquals(seen.size(), pool.getCreated());
+    }
+
+    @Test
+    void testProviderBorrowsPooledInstances() {
+        Tokenizer tokenizer = context.getBean(Tokenizer.class);
+        Parser first = tokenizer.parsers.get();
+        Parser second = tokenizer.parsers.get();
+        assertNotSame(first, second);
+        context.release(first);
+        assertSame(first, tokenizer.parsers.get());
+        context.release(first);
+        context.release(second);
+        assertEquals(2, Parser.INSTANCES.get());
+    }
+
+    @Test
+    void testReleaseOfUnknownOrReleasedInstanceRejected() {
+        Parser parser = context.getBean(Parser.class);
+        context.release(parser);
+        assertThrows(IoCException.class, () -> context.release(parser));
+        assertThrows(IoCException.class, () -> context.release(new Parser()));
+        assertSame(parser, context.getBean(Parser.class));
+        assertNotSame(parser, context.getBean(Parser.class));
+    }
+
+    @Test
+    void testSingletonIsNotPooled() {
+        assertThrows(IoCException.class, () -> context.getPool(Handler.class));
+    }
+}
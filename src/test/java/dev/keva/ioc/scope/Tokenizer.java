@@ -0,0 +1,11 @@
+package dev.keva.ioc.scope;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.core.Provider;
+
+@Component
+public class Tokenizer {
+    @Autowired
+    Provider<Parser> parsers;
+}
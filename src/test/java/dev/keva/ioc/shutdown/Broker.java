@@ -0,0 +1,11 @@
+package dev.keva.ioc.shutdown;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Broker implements AutoCloseable {
+    @Override
+    public void close() {
+        throw new IllegalStateException("Broker already disconnected");
+    }
+}
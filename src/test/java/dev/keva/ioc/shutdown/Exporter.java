@@ -0,0 +1,24 @@
+package dev.keva.ioc.shutdown;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+import dev.keva.ioc.annotation.PreDestroy;
+
+/**
+ * Takes far longer to flush than any timeout of the test, its {@link Ledger} is destroyed after it.
+ */
+@Component
+public class Exporter {
+    @Autowired
+    Ledger ledger;
+    volatile boolean interrupted;
+
+    @PreDestroy
+    void flush() {
+        try {
+            Thread.sleep(5000);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package dev.keva.ioc.shutdown;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Ledger implements AutoCloseable {
+    volatile boolean closed;
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,56 @@
+package dev.keva.ioc.shutdown;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.ShutdownReport;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShutdownTest {
+    @Test
+    void testSlowBeanTimesOut() throws InterruptedException {
+        KevaIoC context = KevaIoC.initBeans(ShutdownTest.class);
+        Exporter exporter = context.getBean(Exporter.class);
+        ShutdownReport report = context.close(Duration.ofMillis(200), Duration.ofSeconds(10));
+
+        assertFalse(report.isDeadlineExceeded());
+        assertEquals(ShutdownReport.Status.TIMED_OUT, getBean(report, Exporter.class).getStatus());
+        assertEquals(Exporter.class, report.getSlowestBeans(1).get(0).getType());
+        assertEquals(ShutdownReport.Status.CLOSED, getBean(report, Ledger.class).getStatus());
+        assertTrue(context.getBean(Ledger.class).closed);
+        Thread.sleep(100);
+        assertTrue(exporter.interrupted);
+    }
+
+    @Test
+    void testFailureReported() {
+        KevaIoC context = KevaIoC.initBeans(ShutdownTest.class);
+        ShutdownReport report = context.close(Duration.ofMillis(200), Duration.ofSeconds(10));
+
+        ShutdownReport.BeanShutdown broker = getBean(report, Broker.class);
+        assertEquals(ShutdownReport.Status.FAILED, broker.getStatus());
+        assertTrue(broker.getFailure() instanceof IllegalStateException);
+        List<ShutdownReport.BeanShutdown> failures = report.getFailures();
+        assertEquals(2, failures.size());
+    }
+
+    @Test
+    void testDeadlineSkipsRemainingBeans() {
+        KevaIoC context = KevaIoC.initBeans(ShutdownTest.class);
+        long start = System.nanoTime();
+        ShutdownReport report = context.close(Duration.ofSeconds(10), Duration.ofMillis(300));
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(3).toNanos());
+        assertTrue(report.isDeadlineExceeded());
+        assertEquals(ShutdownReport.Status.TIMED_OUT, getBean(report, Exporter.class).getStatus());
+        assertEquals(ShutdownReport.Status.SKIPPED, getBean(report, Ledger.class).getStatus());
+        assertFalse(context.getBean(Ledger.class).closed);
+    }
+
+    private static ShutdownReport.BeanShutdown getBean(ShutdownReport report, Class<?> type) {
+        return report.getBeans().stream().filter(bean -> bean.getType() == type).findFirst().get();
+    }
+}
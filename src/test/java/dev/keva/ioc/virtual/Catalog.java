@@ -0,0 +1,7 @@
+package dev.keva.ioc.virtual;
+
+public class Catalog {
+    public Catalog() {
+        Threads.record(Catalog.class);
+    }
+}
@@ -0,0 +1,14 @@
+package dev.keva.ioc.virtual;
+
+import dev.keva.ioc.annotation.AsyncInit;
+import dev.keva.ioc.annotation.Bean;
+import dev.keva.ioc.annotation.Configuration;
+
+@Configuration
+public class CatalogConfiguration {
+    @Bean
+    @AsyncInit
+    public Catalog catalog() {
+        return new Catalog();
+    }
+}
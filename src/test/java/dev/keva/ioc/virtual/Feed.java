@@ -0,0 +1,10 @@
+package dev.keva.ioc.virtual;
+
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Feed {
+    public Feed() {
+        Threads.record(Feed.class);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.keva.ioc.virtual;
+
+import dev.keva.ioc.annotation.Autowired;
+import dev.keva.ioc.annotation.Component;
+
+@Component
+public class Search {
+    final Feed feed;
+    final Index index;
+    final Catalog catalog;
+
+    @Autowired
+    public Search(Feed feed, Index index, Catalog catalog) {
+        Threads.record(Search.class);
+        this.feed = feed;
+        this.index = index;
+        this.catalog = catalog;
+    }
+}
@@ -0,0 +1,12 @@
+package dev.keva.ioc.virtual;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Threads {
+    static final Map<Class<?>, Thread> CREATED_ON = new ConcurrentHashMap<>();
+
+    static void record(Class<?> clazz) {
+        CREATED_ON.put(clazz, Thread.currentThread());
+    }
+}
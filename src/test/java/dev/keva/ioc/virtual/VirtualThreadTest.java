@@ -0,0 +1,49 @@
+package dev.keva.ioc.virtual;
+
+import dev.keva.ioc.KevaIoC;
+import dev.keva.ioc.core.StartupExecutors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VirtualThreadTest {
+    @BeforeEach
+    void reset() {
+        Threads.CREATED_ON.clear();
+    }
+
+    @Test
+    void testBeansCreatedOnStartupThreads() throws Exception {
+        KevaIoC context = KevaIoC.builder(VirtualThreadTest.class).virtualThreads(2).build();
+        Search search = context.getBean(Search.class);
+        assertSame(context.getBean(Feed.class), search.feed);
+        assertSame(context.getBean(Index.class), search.index);
+        assertSame(context.getBean(Catalog.class), search.catalog);
+
+        assertEquals(4, Threads.CREATED_ON.size());
+        for (Thread thread : Threads.CREATED_ON.values()) {
+            assertNotSame(Thread.currentThread(), thread);
+            assertTrue(thread.getName().startsWith("keva-startup-"));
+            if (StartupExecutors.isVirtualThreadSupported()) {
+                assertEquals(true, Thread.class.getMethod("isVirtual").invoke(thread));
+            }
+        }
+    }
+
+    @Test
+    void testPlatformFallbackBounded() {
+        ExecutorService executor = StartupExecutors.newStartupExecutor(2);
+        try {
+            if (!StartupExecutors.isVirtualThreadSupported()) {
+                assertEquals(2, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> StartupExecutors.newStartupExecutor(0));
+    }
+}